@@ -1,13 +1,15 @@
 package Implement.Im03;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.PriorityQueue;
-import java.util.Scanner;
+
+import Implement.Im3.CsrGraph;
+import Implement.Im3.EdgeListLoader;
 
 /**
  * Solução para a tarefa de encontrar o caminho mínimo com o menor número de
@@ -64,6 +66,24 @@ public class ShortestPathTask {
         public List<Edge> getAdj(int v) {
             return adj.get(v);
         }
+
+        /**
+         * Congela o grafo no formato CSR (arrays primitivos), mantendo a ordem
+         * das arestas de cada vértice.
+         */
+        public CsrGraph toCsr() {
+            int E = 0;
+            for (List<Edge> edges : adj) {
+                E += edges.size();
+            }
+            CsrGraph.Builder builder = new CsrGraph.Builder(V, E);
+            for (int u = 0; u < V; u++) {
+                for (Edge edge : adj.get(u)) {
+                    builder.addEdge(u, edge.to, edge.weight);
+                }
+            }
+            return builder.build();
+        }
     }
 
     // --- Classes para o Algoritmo de Dijkstra Modificado ---
@@ -140,7 +160,19 @@ public class ShortestPathTask {
      * @return Um objeto PathResult contendo os detalhes do caminho.
      */
     public static PathResult findShortestPath(Graph graph, int source, int dest) {
+        return findShortestPath(graph.toCsr(), source, dest);
+    }
+
+    /**
+     * Mesma busca de {@link #findShortestPath(Graph, int, int)}, mas sobre o
+     * grafo em formato CSR: o relaxamento percorre os arrays de destinos e
+     * pesos sequencialmente.
+     */
+    public static PathResult findShortestPath(CsrGraph graph, int source, int dest) {
         int V = graph.getV();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
 
         long[] minWeight = new long[V]; // Armazena o menor peso até o vértice
         int[] minEdges = new int[V]; // Armazena o n° de arestas para o menor peso
@@ -178,9 +210,9 @@ public class ShortestPathTask {
             }
 
             // Explora os vizinhos
-            for (Edge edge : graph.getAdj(u)) {
-                int v = edge.to;
-                int edgeWeight = edge.weight;
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int v = targets[i];
+                int edgeWeight = weights[i];
 
                 long newWeight = w + edgeWeight;
                 int newEdges = e + 1;
@@ -238,30 +270,17 @@ public class ShortestPathTask {
         }
 
         String filename = args[0];
-        try (Scanner scanner = new Scanner(new File(filename))) {
-            int V = scanner.nextInt();
-            int E = scanner.nextInt();
-            int source = scanner.nextInt();
-            int dest = scanner.nextInt();
-
-            if (V <= 0) {
-                System.err.println("Erro: O número de vértices (V) deve ser positivo.");
-                return;
-            }
-            if (source < 0 || source >= V || dest < 0 || dest >= V) {
-                System.err.println("Erro: Vértices de origem ou destino fora do intervalo [0, V-1].");
-                return;
-            }
-
-            Graph graph = new Graph(V);
-            for (int i = 0; i < E; i++) {
-                if (!scanner.hasNextInt())
-                    break; // Evita erro se o arquivo terminar
-                int u = scanner.nextInt();
-                int v = scanner.nextInt();
-                int w = scanner.nextInt();
-                graph.addEdge(u, v, w);
-            }
+        try {
+            // Leitura NIO direto para o CSR. Valida V, origem e destino, descarta
+            // arestas com peso não positivo ou vértices inválidos e aceita
+            // arquivos truncados.
+            EdgeListLoader.LoadedGraph loaded = EdgeListLoader.load(Paths.get(filename),
+                    EdgeListLoader.Layout.SOURCE_FIRST);
+            CsrGraph graph = loaded.graph;
+            int V = graph.getV();
+            int E = loaded.declaredEdges;
+            int source = loaded.source;
+            int dest = loaded.destination;
 
             // --- Medir Eficiência ---
             long startTime = System.nanoTime();
@@ -292,8 +311,10 @@ public class ShortestPathTask {
             System.out.println("Eficiência (Tempo de Execução): " + durationMicroseconds + " µs (microssegundos)");
             System.out.println("=========================================");
 
-        } catch (FileNotFoundException e) {
+        } catch (NoSuchFileException e) {
             System.err.println("Erro: Arquivo não encontrado: " + filename);
+        } catch (EdgeListLoader.FormatException e) {
+            System.err.println("Erro: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Erro ao processar o arquivo: " + e.getMessage());
             e.printStackTrace();
@@ -1,13 +1,30 @@
 @echo off
+rem Uso: compile.bat [pdf]
+rem Sem argumentos compila tudo menos o ReportGenerator, que depende do iText.
+rem Com "pdf" compila tambem o ReportGenerator, com os JARs do iText em lib\.
 echo Compilando projeto...
 if not exist "target\classes" mkdir target\classes
 
-javac -d target\classes -cp "lib\*" src\main\java\br\edu\ufcg\grafos\*.java
+if exist "target\sources.txt" del target\sources.txt
+for %%f in (src\main\java\br\edu\ufcg\grafos\*.java) do (
+    if /I not "%%~nxf"=="ReportGenerator.java" echo %%f>>target\sources.txt
+)
+
+javac -d target\classes @target\sources.txt
+
+if %ERRORLEVEL% NEQ 0 (
+    echo Erro na compilacao!
+    exit /b 1
+)
+
+if /I "%~1"=="pdf" (
+    echo Compilando relatorio PDF com o iText de lib\...
+    javac -d target\classes -cp "target\classes;lib\*" src\main\java\br\edu\ufcg\grafos\ReportGenerator.java
+)
 
 if %ERRORLEVEL% EQU 0 (
     echo Compilacao concluida com sucesso!
 ) else (
-    echo Erro na compilacao!
+    echo Erro na compilacao do relatorio PDF!
     exit /b 1
 )
-
@@ -0,0 +1,224 @@
+package br.edu.ufcg.grafos;
+
+import java.util.Arrays;
+
+/**
+ * Fluxo máximo pelo algoritmo de Dinic.
+ *
+ * Cada fase constrói o grafo de níveis com uma BFS a partir da origem e
+ * satura-o com um fluxo bloqueante, usando ponteiros de "arco atual" para
+ * nunca reexaminar um arco já esgotado na fase. Para capacidades unitárias
+ * (caminhos disjuntos) a complexidade é O(E * sqrt(E)).
+ *
+ * Uma instância guarda os arrays de trabalho e pode ser reutilizada em várias
+ * chamadas de {@link #augment} sobre o mesmo grafo, partindo do fluxo que já
+ * estiver nele. Opcionalmente registra os arcos cujo fluxo foi alterado, para
+ * que {@link #resetTouched()} zere o fluxo em O(arcos tocados).
+ */
+public class DinicMaxFlow {
+
+    /**
+     * Zera os fluxos do grafo e calcula o fluxo máximo de source a sink.
+     * Os fluxos finais ficam registrados nas arestas do grafo.
+     */
+    public static int maxFlow(DirectedGraph graph, int source, int sink) {
+        graph.resetFlow();
+        return new DinicMaxFlow(graph, false).augment(source, sink, Integer.MAX_VALUE);
+    }
+
+    private final DirectedGraph graph;
+    private final int[] level;
+    private final int[] queue;
+    private final int[] current;
+    private final int[] pathArcs;
+
+    // Arestas (índice do par de arcos) com fluxo alterado desde o último reset
+    private final boolean trackTouched;
+    private boolean[] touched;
+    private int[] touchedList;
+    private int numTouched;
+
+    /**
+     * @param trackTouched se true, registra os arcos alterados (ver {@link #resetTouched()}).
+     */
+    public DinicMaxFlow(DirectedGraph graph, boolean trackTouched) {
+        int n = graph.getNumVertices();
+        this.graph = graph;
+        this.level = new int[n];
+        this.queue = new int[n];
+        this.current = new int[n];
+        this.pathArcs = new int[n];
+        this.trackTouched = trackTouched;
+        if (trackTouched) {
+            this.touched = new boolean[Math.max(graph.getNumEdges(), 1)];
+            this.touchedList = new int[16];
+        }
+    }
+
+    /**
+     * Aumenta o fluxo atual do grafo de source a sink em até 'limit'
+     * unidades, por caminhos no grafo residual.
+     *
+     * @return quanto o fluxo aumentou.
+     */
+    public int augment(int source, int sink, int limit) {
+        if (source == sink || limit <= 0) {
+            return 0;
+        }
+
+        int n = graph.getNumVertices();
+        int total = 0;
+        while (total < limit && buildLevels(source, sink)) {
+            System.arraycopy(graph.arcOffsets(), 0, current, 0, n);
+            total += blockingFlow(source, sink, limit - total);
+        }
+        return total;
+    }
+
+    /**
+     * Soma 'amount' ao fluxo de um arco, registrando-o se necessário.
+     */
+    void addFlow(int arc, int amount) {
+        graph.flow[arc] += amount;
+        graph.flow[arc ^ 1] -= amount;
+        if (trackTouched) {
+            markTouched(arc);
+        }
+    }
+
+    private void markTouched(int arc) {
+        int edge = arc >> 1;
+        if (edge >= touched.length) {
+            touched = Arrays.copyOf(touched, Math.max(touched.length * 2, edge + 1));
+        }
+        if (!touched[edge]) {
+            touched[edge] = true;
+            if (numTouched == touchedList.length) {
+                touchedList = Arrays.copyOf(touchedList, numTouched * 2);
+            }
+            touchedList[numTouched++] = edge;
+        }
+    }
+
+    /**
+     * Zera o fluxo dos arcos alterados desde o último reset.
+     */
+    public void resetTouched() {
+        if (!trackTouched) {
+            graph.resetFlow();
+            return;
+        }
+        int[] flow = graph.flow;
+        for (int i = 0; i < numTouched; i++) {
+            int edge = touchedList[i];
+            flow[2 * edge] = 0;
+            flow[2 * edge + 1] = 0;
+            touched[edge] = false;
+        }
+        numTouched = 0;
+    }
+
+    /** Número de arestas com fluxo alterado desde o último reset. */
+    public int getNumTouched() {
+        return numTouched;
+    }
+
+    /**
+     * BFS no grafo residual. Retorna true se o destino foi alcançado.
+     */
+    private boolean buildLevels(int source, int sink) {
+        int[] offsets = graph.arcOffsets();
+        int[] arcs = graph.arcList();
+        int[] head = graph.head;
+        int[] cap = graph.cap;
+        int[] flow = graph.flow;
+
+        Arrays.fill(level, -1);
+        int queueHead = 0;
+        int queueTail = 0;
+        level[source] = 0;
+        queue[queueTail++] = source;
+
+        while (queueHead < queueTail) {
+            int u = queue[queueHead++];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int e = arcs[i];
+                int v = head[e];
+                if (level[v] < 0 && cap[e] - flow[e] > 0) {
+                    level[v] = level[u] + 1;
+                    queue[queueTail++] = v;
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    /**
+     * Fluxo bloqueante no grafo de níveis (limitado a 'limit'), com DFS
+     * iterativa (pilha explícita de arcos) para não estourar a pilha em
+     * caminhos longos. current[u] é a posição do arco atual de u na lista CSR.
+     */
+    private int blockingFlow(int source, int sink, int limit) {
+        int[] offsets = graph.arcOffsets();
+        int[] arcs = graph.arcList();
+        int[] head = graph.head;
+        int[] cap = graph.cap;
+        int[] flow = graph.flow;
+
+        int total = 0;
+        int depth = 0;
+        int u = source;
+
+        while (true) {
+            if (u == sink) {
+                // Gargalo do caminho e aumento
+                int bottleneck = limit - total;
+                for (int i = 0; i < depth; i++) {
+                    int e = pathArcs[i];
+                    bottleneck = Math.min(bottleneck, cap[e] - flow[e]);
+                }
+                int firstSaturated = -1;
+                for (int i = 0; i < depth; i++) {
+                    int e = pathArcs[i];
+                    addFlow(e, bottleneck);
+                    if (firstSaturated < 0 && cap[e] == flow[e]) {
+                        firstSaturated = i;
+                    }
+                }
+                total += bottleneck;
+                if (total == limit) {
+                    return total;
+                }
+
+                // Recua até a origem do primeiro arco saturado
+                depth = firstSaturated;
+                u = head[pathArcs[depth] ^ 1];
+                continue;
+            }
+
+            boolean advanced = false;
+            int end = offsets[u + 1];
+            while (current[u] < end) {
+                int e = arcs[current[u]];
+                int v = head[e];
+                if (cap[e] - flow[e] > 0 && level[v] == level[u] + 1) {
+                    pathArcs[depth++] = e;
+                    u = v;
+                    advanced = true;
+                    break;
+                }
+                current[u]++;
+            }
+
+            if (!advanced) {
+                // Beco sem saída: u sai do grafo de níveis desta fase
+                level[u] = -1;
+                if (depth == 0) {
+                    return total;
+                }
+                u = head[pathArcs[--depth] ^ 1];
+                current[u]++;
+            }
+        }
+    }
+}
@@ -4,20 +4,98 @@ import java.util.*;
 
 /**
  * Representa um grafo direcionado com suporte para fluxo máximo.
+ *
+ * A rede residual é guardada em arrays primitivos, um índice por arco: cada
+ * aresta u -> v ocupa o par de arcos (e, e ^ 1), em que o arco par é o
+ * original (capacidade c) e o ímpar é o reverso v -> u (capacidade 0). O
+ * fluxo é antissimétrico: flow[e ^ 1] == -flow[e].
+ *
+ * Os arcos de cada vértice ficam em formato CSR (offsets + lista de arcos),
+ * montado sob demanda na ordem de inserção. Arestas repetidas u -> v somam as
+ * capacidades no mesmo arco, localizado por uma tabela hash de chaves long.
  */
 public class DirectedGraph {
     private int numVertices;
-    private List<List<Edge>> adjacencyList;
-    private Map<String, Edge> edgeMap;
+
+    // Arrays por arco (tamanho >= numArcs)
+    int[] head;     // Vértice de chegada do arco
+    int[] cap;      // Capacidade
+    int[] flow;     // Fluxo atual
+    private int numArcs;
+
+    // CSR dos arcos por vértice de saída, reconstruído após inserções
+    private int[] arcOffsets; // Tamanho numVertices + 1
+    private int[] arcList;
+    private boolean csrValid;
+
+    private ArcIndex arcIndex; // Criado sob demanda em grafos montados por fromEdges
+
+    private DirectedGraph(DirectedGraph original) {
+        this.numVertices = original.numVertices;
+        this.numArcs = original.numArcs;
+        this.head = Arrays.copyOf(original.head, original.numArcs);
+        this.cap = Arrays.copyOf(original.cap, original.numArcs);
+        this.flow = Arrays.copyOf(original.flow, original.numArcs);
+        // O CSR é só lido e é sempre reconstruído em arrays novos: pode ser compartilhado
+        this.arcOffsets = original.arcOffsets;
+        this.arcList = original.arcList;
+        this.csrValid = original.csrValid;
+        this.arcIndex = original.arcIndex == null ? null : original.arcIndex.copy();
+    }
 
     public DirectedGraph(int numVertices) {
+        this(numVertices, 16);
+    }
+
+    /**
+     * @param numVertices   Número de vértices.
+     * @param expectedEdges Estimativa do número de arestas (evita realocações).
+     */
+    public DirectedGraph(int numVertices, int expectedEdges) {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Número de vértices negativo: " + numVertices);
+        }
+        int arcs = 2 * Math.max(expectedEdges, 1);
+        this.numVertices = numVertices;
+        this.head = new int[arcs];
+        this.cap = new int[arcs];
+        this.flow = new int[arcs];
+        this.arcIndex = new ArcIndex(expectedEdges);
+    }
+
+    private DirectedGraph(int numVertices, int[] head, int[] cap, int numArcs) {
         this.numVertices = numVertices;
-        this.adjacencyList = new ArrayList<>();
-        this.edgeMap = new HashMap<>();
-        
-        for (int i = 0; i < numVertices; i++) {
-            adjacencyList.add(new ArrayList<>());
+        this.head = head;
+        this.cap = cap;
+        this.flow = new int[head.length];
+        this.numArcs = numArcs;
+    }
+
+    /**
+     * Monta um grafo direto de arrays de arestas, sem passar por
+     * {@link #addEdge}: os arrays de arcos são preenchidos em uma passada e o
+     * índice de arestas só é criado se for consultado. As arestas
+     * (tails[i], heads[i]) devem ser distintas e ter vértices válidos.
+     */
+    static DirectedGraph fromEdges(int numVertices, int numEdges, int[] tails, int[] heads, int[] capacities) {
+        int[] head = new int[Math.max(2 * numEdges, 2)];
+        int[] cap = new int[head.length];
+        for (int i = 0; i < numEdges; i++) {
+            head[2 * i] = heads[i];
+            cap[2 * i] = capacities[i];
+            head[2 * i + 1] = tails[i];
+        }
+        return new DirectedGraph(numVertices, head, cap, 2 * numEdges);
+    }
+
+    private ArcIndex arcIndex() {
+        if (arcIndex == null) {
+            arcIndex = new ArcIndex(numArcs / 2);
+            for (int e = 0; e < numArcs; e += 2) {
+                arcIndex.put(((long) head[e + 1] << 32) | head[e], e);
+            }
         }
+        return arcIndex;
     }
 
     public void addEdge(int from, int to) {
@@ -29,39 +107,171 @@ public class DirectedGraph {
             throw new IllegalArgumentException("Vértices inválidos: " + from + " -> " + to);
         }
 
-        String key = from + "->" + to;
-        Edge edge = edgeMap.get(key);
-        
-        if (edge == null) {
-            edge = new Edge(from, to, capacity);
-            Edge reverse = new Edge(to, from, 0);
-            edge.setReverse(reverse);
-            reverse.setReverse(edge);
-            
-            adjacencyList.get(from).add(edge);
-            adjacencyList.get(to).add(reverse);
-            edgeMap.put(key, edge);
+        long key = ((long) from << 32) | to;
+        int arc = arcIndex().get(key);
+
+        if (arc < 0) {
+            if (numArcs + 2 > head.length) {
+                int newLength = Math.max(head.length + (head.length >> 1), numArcs + 2);
+                head = Arrays.copyOf(head, newLength);
+                cap = Arrays.copyOf(cap, newLength);
+                flow = Arrays.copyOf(flow, newLength);
+            }
+            arc = numArcs;
+            head[arc] = to;
+            cap[arc] = capacity;
+            head[arc + 1] = from;
+            numArcs += 2;
+            arcIndex.put(key, arc);
+            csrValid = false;
         } else {
             // Se a aresta já existe, aumenta a capacidade
-            edge = new Edge(from, to, edge.getCapacity() + capacity);
-            Edge reverse = new Edge(to, from, 0);
-            edge.setReverse(reverse);
-            reverse.setReverse(edge);
-            
-            adjacencyList.get(from).add(edge);
-            adjacencyList.get(to).add(reverse);
+            cap[arc] += capacity;
         }
     }
 
-    public List<Edge> getEdges(int vertex) {
-        return adjacencyList.get(vertex);
+    /**
+     * Cópia independente do grafo (arcos, capacidades e fluxos), feita com
+     * cópias de arrays em vez de reinserir as arestas.
+     */
+    public DirectedGraph copy() {
+        return new DirectedGraph(this);
+    }
+
+    /**
+     * Altera a capacidade de um arco. Não mexe no fluxo: se a nova
+     * capacidade for menor que o fluxo atual, quem chama deve corrigi-lo.
+     */
+    public void setCapacity(int arc, int capacity) {
+        cap[arc] = capacity;
     }
 
     public int getNumVertices() {
         return numVertices;
     }
 
+    /** Número de arestas distintas (pares de arcos). */
+    public int getNumEdges() {
+        return numArcs / 2;
+    }
+
+    /** Número de arcos, contando os reversos (2 * getNumEdges()). */
+    public int getNumArcs() {
+        return numArcs;
+    }
+
+    /** Arco u -> v original (par), ou -1 se a aresta não existe. */
+    public int findArc(int from, int to) {
+        return arcIndex().get(((long) from << 32) | to);
+    }
+
+    public int getHead(int arc) {
+        return head[arc];
+    }
+
+    public int getTail(int arc) {
+        return head[arc ^ 1];
+    }
+
+    public int getCapacity(int arc) {
+        return cap[arc];
+    }
+
+    public int getFlow(int arc) {
+        return flow[arc];
+    }
+
+    public int getResidualCapacity(int arc) {
+        return cap[arc] - flow[arc];
+    }
+
+    /** true para arcos de arestas originais, false para os reversos. */
+    public boolean isForward(int arc) {
+        return (arc & 1) == 0;
+    }
+
+    /** Soma 'amount' ao fluxo do arco e subtrai do seu reverso. */
+    public void addFlow(int arc, int amount) {
+        flow[arc] += amount;
+        flow[arc ^ 1] -= amount;
+    }
+
+    /** Zera o fluxo de todos os arcos. */
+    public void resetFlow() {
+        Arrays.fill(flow, 0, numArcs, 0);
+    }
+
+    /** Primeira posição (inclusiva) dos arcos de u em {@link #arcList()}. */
+    public int arcsStart(int u) {
+        return arcOffsets()[u];
+    }
+
+    /** Última posição (exclusiva) dos arcos de u em {@link #arcList()}. */
+    public int arcsEnd(int u) {
+        return arcOffsets()[u + 1];
+    }
+
+    /** Arco na posição i da lista CSR. */
+    public int arcAt(int i) {
+        return arcList()[i];
+    }
+
+    /**
+     * Offsets CSR por vértice, sem cópia. Não devem ser modificados e deixam
+     * de valer após a próxima inserção de aresta.
+     */
+    int[] arcOffsets() {
+        ensureCsr();
+        return arcOffsets;
+    }
+
+    /**
+     * Arcos agrupados por vértice de saída, sem cópia (ver {@link #arcOffsets()}).
+     */
+    int[] arcList() {
+        ensureCsr();
+        return arcList;
+    }
+
+    private void ensureCsr() {
+        if (csrValid) {
+            return;
+        }
+        int[] offsets = new int[numVertices + 1];
+        for (int e = 0; e < numArcs; e++) {
+            offsets[head[e ^ 1] + 1]++;
+        }
+        for (int u = 0; u < numVertices; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] list = new int[numArcs];
+        int[] next = Arrays.copyOf(offsets, numVertices);
+        for (int e = 0; e < numArcs; e++) {
+            list[next[head[e ^ 1]]++] = e;
+        }
+        arcOffsets = offsets;
+        arcList = list;
+        csrValid = true;
+    }
+
+    /**
+     * Arcos que saem de 'vertex' (originais e reversos), como visões
+     * {@link Edge} sobre os arrays do grafo.
+     */
+    public List<Edge> getEdges(int vertex) {
+        int[] offsets = arcOffsets();
+        List<Edge> edges = new ArrayList<>(offsets[vertex + 1] - offsets[vertex]);
+        for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            edges.add(new Edge(this, arcList[i]));
+        }
+        return edges;
+    }
+
     public List<List<Edge>> getAdjacencyList() {
+        List<List<Edge>> adjacencyList = new ArrayList<>(numVertices);
+        for (int u = 0; u < numVertices; u++) {
+            adjacencyList.add(getEdges(u));
+        }
         return adjacencyList;
     }
 
@@ -69,114 +279,94 @@ public class DirectedGraph {
      * Encontra caminho aumentador usando BFS (Edmonds-Karp).
      */
     public List<Integer> findAugmentingPath(int source, int sink) {
-        Queue<Integer> queue = new LinkedList<>();
-        int[] parent = new int[numVertices];
-        Edge[] parentEdge = new Edge[numVertices];
-        Arrays.fill(parent, -1);
-        
-        queue.offer(source);
-        parent[source] = source;
-
-        while (!queue.isEmpty()) {
-            int u = queue.poll();
-
-            for (Edge edge : adjacencyList.get(u)) {
-                int v = edge.getTo();
-                if (parent[v] == -1 && edge.getResidualCapacity() > 0) {
-                    parent[v] = u;
-                    parentEdge[v] = edge;
-                    queue.offer(v);
-
-                    if (v == sink) {
-                        // Reconstruir caminho
-                        List<Integer> path = new ArrayList<>();
-                        int current = sink;
-                        while (current != source) {
-                            path.add(current);
-                            current = parent[current];
-                        }
-                        path.add(source);
-                        Collections.reverse(path);
-                        return path;
-                    }
-                }
-            }
+        int[] parentArc = new int[numVertices];
+        int[] queue = new int[numVertices];
+        if (!bfs(source, sink, parentArc, queue)) {
+            return null; // Não há caminho aumentador
         }
 
-        return null; // Não há caminho aumentador
+        // Reconstruir caminho
+        List<Integer> path = new ArrayList<>();
+        int current = sink;
+        while (current != source) {
+            path.add(current);
+            current = head[parentArc[current] ^ 1];
+        }
+        path.add(source);
+        Collections.reverse(path);
+        return path;
     }
 
     /**
      * Calcula o fluxo máximo usando o algoritmo de Edmonds-Karp.
      */
     public int maxFlow(int source, int sink) {
-        // Resetar fluxos
-        for (List<Edge> edges : adjacencyList) {
-            for (Edge edge : edges) {
-                edge.setFlow(0);
-            }
+        resetFlow();
+        if (source == sink) {
+            return 0;
         }
 
+        int[] parentArc = new int[numVertices];
+        int[] queue = new int[numVertices];
         int maxFlow = 0;
-        
-        while (true) {
-            // Encontrar caminho aumentador usando BFS
-            Queue<Integer> queue = new LinkedList<>();
-            int[] parent = new int[numVertices];
-            Edge[] parentEdge = new Edge[numVertices];
-            Arrays.fill(parent, -1);
-            
-            queue.offer(source);
-            parent[source] = source;
-
-            while (!queue.isEmpty()) {
-                int u = queue.poll();
-
-                for (Edge edge : adjacencyList.get(u)) {
-                    int v = edge.getTo();
-                    if (parent[v] == -1 && edge.getResidualCapacity() > 0) {
-                        parent[v] = u;
-                        parentEdge[v] = edge;
-                        queue.offer(v);
-
-                        if (v == sink) {
-                            // Encontrar capacidade mínima no caminho
-                            int minCapacity = Integer.MAX_VALUE;
-                            int current = sink;
-                            
-                            while (current != source) {
-                                Edge e = parentEdge[current];
-                                minCapacity = Math.min(minCapacity, e.getResidualCapacity());
-                                current = parent[current];
-                            }
-
-                            // Aumentar fluxo ao longo do caminho
-                            current = sink;
-                            while (current != source) {
-                                Edge e = parentEdge[current];
-                                e.addFlow(minCapacity);
-                                current = parent[current];
-                            }
-
-                            maxFlow += minCapacity;
-                            break;
-                        }
-                    }
-                }
-                
-                if (parent[sink] != -1) {
-                    break;
-                }
+
+        // Encontrar caminhos aumentadores usando BFS
+        while (bfs(source, sink, parentArc, queue)) {
+            // Encontrar capacidade mínima no caminho
+            int minCapacity = Integer.MAX_VALUE;
+            for (int v = sink; v != source; v = head[parentArc[v] ^ 1]) {
+                int e = parentArc[v];
+                minCapacity = Math.min(minCapacity, cap[e] - flow[e]);
             }
-            
-            if (parent[sink] == -1) {
-                break; // Não há mais caminhos aumentadores
+
+            // Aumentar fluxo ao longo do caminho
+            for (int v = sink; v != source; v = head[parentArc[v] ^ 1]) {
+                addFlow(parentArc[v], minCapacity);
             }
+
+            maxFlow += minCapacity;
         }
 
         return maxFlow;
     }
 
+    /**
+     * BFS no grafo residual. Preenche parentArc (arco pelo qual cada vértice
+     * foi alcançado, -1 se não alcançado) e para assim que chega ao destino.
+     */
+    private boolean bfs(int source, int sink, int[] parentArc, int[] queue) {
+        int[] offsets = arcOffsets();
+        int[] arcs = arcList;
+        Arrays.fill(parentArc, -1);
+        int queueHead = 0;
+        int queueTail = 0;
+        queue[queueTail++] = source;
+
+        while (queueHead < queueTail) {
+            int u = queue[queueHead++];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int e = arcs[i];
+                int v = head[e];
+                if (v != source && parentArc[v] == -1 && cap[e] - flow[e] > 0) {
+                    parentArc[v] = e;
+                    if (v == sink) {
+                        return true;
+                    }
+                    queue[queueTail++] = v;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Corte mínimo do fluxo atual, a partir do lado de source. Deve ser
+     * chamado depois de {@link #maxFlow}.
+     */
+    public MinCut minCut(int source) {
+        return MinCut.compute(this, source);
+    }
+
     /**
      * Encontra todos os caminhos disjuntos em arestas entre source e sink.
      */
@@ -185,68 +375,79 @@ public class DirectedGraph {
         maxFlow(source, sink);
 
         // Agora, extrair os caminhos do fluxo
-        List<List<Integer>> paths = new ArrayList<>();
-        DirectedGraph residualGraph = this; // Usar o grafo residual atual
-
-        // Encontrar caminhos no grafo residual
-        while (true) {
-            List<Integer> path = findPathInResidualGraph(source, sink);
-            if (path == null || path.isEmpty()) {
-                break;
-            }
-            
-            // Remover o fluxo deste caminho (marcar arestas como usadas)
-            for (int i = 0; i < path.size() - 1; i++) {
-                int u = path.get(i);
-                int v = path.get(i + 1);
-                
-                for (Edge edge : adjacencyList.get(u)) {
-                    if (edge.getTo() == v && edge.getFlow() > 0) {
-                        edge.addFlow(-1); // Reduzir fluxo em 1
-                        break;
-                    }
-                }
-            }
-            
-            paths.add(path);
-        }
-
-        return paths;
+        return FlowDecomposition.decompose(this, source, sink).toUnitPaths();
     }
 
     /**
-     * Encontra um caminho no grafo residual usando DFS.
+     * Tabela hash de endereçamento aberto (sondagem linear) de chave long
+     * (origem << 32 | destino) para o arco original da aresta.
      */
-    private List<Integer> findPathInResidualGraph(int source, int sink) {
-        boolean[] visited = new boolean[numVertices];
-        List<Integer> path = new ArrayList<>();
-        
-        if (dfsPath(source, sink, visited, path)) {
-            return path;
+    private static final class ArcIndex {
+        private long[] keys;
+        private int[] values; // -1 = posição livre
+        private int size;
+        private int mask;
+
+        ArcIndex(int expectedEdges) {
+            int capacity = Integer.highestOneBit(Math.max(2 * expectedEdges, 16) - 1) << 1;
+            allocate(capacity);
+        }
+
+        private ArcIndex(ArcIndex original) {
+            this.keys = original.keys.clone();
+            this.values = original.values.clone();
+            this.size = original.size;
+            this.mask = original.mask;
+        }
+
+        ArcIndex copy() {
+            return new ArcIndex(this);
         }
-        
-        return null;
-    }
 
-    private boolean dfsPath(int u, int sink, boolean[] visited, List<Integer> path) {
-        visited[u] = true;
-        path.add(u);
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(values, -1);
+            mask = capacity - 1;
+        }
 
-        if (u == sink) {
-            return true;
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
         }
 
-        for (Edge edge : adjacencyList.get(u)) {
-            int v = edge.getTo();
-            if (!visited[v] && edge.getFlow() > 0) {
-                if (dfsPath(v, sink, visited, path)) {
-                    return true;
+        int get(long key) {
+            for (int i = slot(key); values[i] >= 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
                 }
             }
+            return -1;
         }
 
-        path.remove(path.size() - 1);
-        return false;
+        /** Insere uma chave ausente. */
+        void put(long key, int value) {
+            if (2 * (size + 1) > keys.length) {
+                long[] oldKeys = keys;
+                int[] oldValues = values;
+                allocate(keys.length * 2);
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldValues[i] >= 0) {
+                        insert(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            insert(key, value);
+            size++;
+        }
+
+        private void insert(long key, int value) {
+            int i = slot(key);
+            while (values[i] >= 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
     }
 }
-
@@ -0,0 +1,282 @@
+package br.edu.ufcg.grafos;
+
+import java.util.*;
+
+/**
+ * Consultas repetidas de caminhos disjuntos em arestas sobre uma mesma
+ * topologia.
+ *
+ * A rede residual é montada uma única vez (cópia do grafo) e o fluxo da
+ * consulta anterior é reaproveitado sempre que possível:
+ * - mesma origem e mesmo destino: o fluxo atual já é máximo (ou, após
+ * mudanças de capacidade, é o ponto de partida do Dinic);
+ * - só o destino mudou: o fluxo que chega ao destino antigo é desfeito de
+ * trás para frente até a origem ou até o novo destino (o trecho até o novo
+ * destino é mantido); o Dinic continua dali;
+ * - só a origem mudou: simétrico, o fluxo que sai da origem antiga é
+ * desfeito até o destino ou até a nova origem;
+ * - caso contrário: o fluxo é zerado em O(arcos tocados) e recalculado.
+ *
+ * Desfazer fluxo segue apenas arcos com fluxo, então custa o comprimento dos
+ * caminhos desfeitos, e não uma busca no grafo inteiro. Todas as alterações
+ * de fluxo passam por um único {@link DinicMaxFlow}, que registra os arcos
+ * tocados.
+ */
+public class DisjointPathQuery {
+
+    private final DirectedGraph graph;
+    private final DinicMaxFlow engine;
+    private int source = -1;
+    private int sink = -1;
+
+    // Arrays de trabalho de cancel(); 'seen' marca os vértices já iniciados na caminhada atual
+    private final int[] current;
+    private final int[] stackVertex;
+    private final int[] stackArcs;
+    private final int[] stackPos;
+    private final int[] seen;
+    private int walk;
+
+    /**
+     * @param graph grafo consultado; é copiado, então alterações posteriores
+     *              nele não afetam as consultas.
+     */
+    public DisjointPathQuery(DirectedGraph graph) {
+        this.graph = graph.copy();
+        this.graph.resetFlow();
+        this.engine = new DinicMaxFlow(this.graph, true);
+
+        int n = graph.getNumVertices();
+        this.current = new int[n];
+        this.stackVertex = new int[n + 1];
+        this.stackArcs = new int[n];
+        this.stackPos = new int[n];
+        this.seen = new int[n];
+    }
+
+    /**
+     * Fluxo máximo de source a sink, partindo do fluxo da consulta anterior.
+     * O fluxo fica registrado na rede residual interna.
+     */
+    public int maxFlow(int source, int sink) {
+        checkVertex(source);
+        checkVertex(sink);
+        if (source == sink) {
+            throw new IllegalArgumentException("Origem e destino iguais: " + source);
+        }
+
+        if (this.source < 0 || (source != this.source && sink != this.sink)
+                || source == this.sink || sink == this.source) {
+            engine.resetTouched();
+        } else if (sink != this.sink) {
+            moveSink(sink);
+        } else if (source != this.source) {
+            moveSource(source);
+        }
+
+        this.source = source;
+        this.sink = sink;
+        engine.augment(source, sink, Integer.MAX_VALUE);
+        return netOutflow(source);
+    }
+
+    /**
+     * Caminhos disjuntos em arestas de source a sink e o corte mínimo, com o
+     * tempo de cada fase da consulta. A rede já está montada, então a fase
+     * de cópia fica em 0.
+     */
+    public EdgeDisjointPaths.Result query(int source, int sink) {
+        long[] phaseNanos = new long[EdgeDisjointPaths.Phase.values().length];
+        long time = System.nanoTime();
+
+        maxFlow(source, sink);
+        time = EdgeDisjointPaths.lap(phaseNanos, EdgeDisjointPaths.Phase.FLOW, time);
+
+        FlowDecomposition decomposition = FlowDecomposition.decompose(graph, source, sink);
+        time = EdgeDisjointPaths.lap(phaseNanos, EdgeDisjointPaths.Phase.DECOMPOSITION, time);
+
+        List<List<Integer>> paths = decomposition.toUnitPaths();
+        MinCut minCut = MinCut.compute(graph, source);
+        EdgeDisjointPaths.lap(phaseNanos, EdgeDisjointPaths.Phase.OUTPUT, time);
+
+        return new EdgeDisjointPaths.Result(paths, minCut, phaseNanos);
+    }
+
+    /**
+     * Altera a capacidade da aresta from -> to (criando-a se não existir).
+     * Se a nova capacidade for menor que o fluxo atual, o excedente é
+     * desfeito ao longo dos caminhos que o carregavam, mantendo um fluxo
+     * válido como ponto de partida da próxima consulta.
+     */
+    public void setCapacity(int from, int to, int capacity) {
+        checkVertex(from);
+        checkVertex(to);
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacidade negativa: " + capacity);
+        }
+
+        int arc = graph.findArc(from, to);
+        if (arc < 0) {
+            if (capacity > 0) {
+                graph.addEdge(from, to, capacity);
+            }
+            return;
+        }
+
+        graph.setCapacity(arc, capacity);
+        int excess = graph.getFlow(arc) - capacity;
+        if (excess <= 0) {
+            return;
+        }
+
+        // Retira o excedente do arco: 'from' fica com sobra e 'to' com falta
+        engine.addFlow(arc, -excess);
+        if (from != source && from != sink) {
+            // Desfaz o fluxo que chegava em 'from'; se o caminho vier de 'to', corrige os dois
+            cancel(from, excess, false, source, sink, to);
+        }
+        if (to != source && to != sink) {
+            int deficit = netOutflow(to);
+            if (deficit > 0) {
+                cancel(to, deficit, true, sink, source, sink);
+            }
+        }
+    }
+
+    /**
+     * Descarta o fluxo atual, em O(arcos tocados).
+     */
+    public void reset() {
+        engine.resetTouched();
+        source = -1;
+        sink = -1;
+    }
+
+    /** Número de arestas com fluxo desde o último reset. */
+    public int getNumTouched() {
+        return engine.getNumTouched();
+    }
+
+    /**
+     * Desfaz o fluxo que chega ao destino antigo, recuando até a origem ou
+     * até o novo destino, que passa a receber o trecho anterior do caminho.
+     */
+    private void moveSink(int newSink) {
+        cancel(sink, -netOutflow(sink), false, source, newSink, newSink);
+    }
+
+    /**
+     * Desfaz o fluxo que sai da origem antiga, avançando até o destino ou
+     * até a nova origem, que passa a enviar o trecho posterior do caminho.
+     */
+    private void moveSource(int newSource) {
+        cancel(source, netOutflow(source), true, sink, newSource, newSource);
+    }
+
+    /**
+     * Desfaz até 'amount' unidades de fluxo em caminhos que começam em
+     * 'start' e seguem os arcos com fluxo (forward) ou voltam por eles
+     * (!forward), até chegar em um dos vértices de parada. Ciclos de fluxo
+     * encontrados no caminho são cancelados por inteiro.
+     *
+     * Usa ponteiros de arco atual e pilha explícita, como a
+     * {@link FlowDecomposition}: o custo é o tamanho dos trechos desfeitos.
+     */
+    private void cancel(int start, int amount, boolean forward, int stop1, int stop2, int stop3) {
+        int[] offsets = graph.arcOffsets();
+        int[] arcs = graph.arcList();
+        int[] head = graph.head;
+        int sign = forward ? 1 : -1;
+
+        walk++;
+        int depth = 0;
+        visit(start, offsets);
+        stackVertex[0] = start;
+        stackPos[start] = 0;
+
+        while (amount > 0) {
+            int u = stackVertex[depth];
+
+            if (depth > 0 && (u == stop1 || u == stop2 || u == stop3)) {
+                int bottleneck = amount;
+                for (int i = 0; i < depth; i++) {
+                    bottleneck = Math.min(bottleneck, sign * graph.flow[stackArcs[i]]);
+                }
+                int firstEmpty = -1;
+                for (int i = 0; i < depth; i++) {
+                    engine.addFlow(stackArcs[i], -sign * bottleneck);
+                    if (firstEmpty < 0 && graph.flow[stackArcs[i]] == 0) {
+                        firstEmpty = i;
+                    }
+                }
+                amount -= bottleneck;
+                depth = popTo(firstEmpty < 0 ? 0 : firstEmpty, depth);
+                continue;
+            }
+
+            int end = offsets[u + 1];
+            while (current[u] < end && sign * graph.flow[arcs[current[u]]] <= 0) {
+                current[u]++;
+            }
+            if (current[u] == end) {
+                if (depth == 0) {
+                    return; // Não há mais fluxo a desfazer a partir de 'start'
+                }
+                depth = popTo(depth - 1, depth);
+                current[stackVertex[depth]]++;
+                continue;
+            }
+
+            int e = arcs[current[u]];
+            int v = head[e];
+            visit(v, offsets);
+            if (stackPos[v] >= 0) {
+                // Ciclo de fluxo: cancela e continua de v
+                int from = stackPos[v];
+                int bottleneck = sign * graph.flow[e];
+                for (int i = from; i < depth; i++) {
+                    bottleneck = Math.min(bottleneck, sign * graph.flow[stackArcs[i]]);
+                }
+                engine.addFlow(e, -sign * bottleneck);
+                for (int i = from; i < depth; i++) {
+                    engine.addFlow(stackArcs[i], -sign * bottleneck);
+                }
+                depth = popTo(from, depth);
+            } else {
+                stackArcs[depth] = e;
+                stackVertex[++depth] = v;
+                stackPos[v] = depth;
+            }
+        }
+    }
+
+    private void visit(int v, int[] offsets) {
+        if (seen[v] != walk) {
+            seen[v] = walk;
+            current[v] = offsets[v];
+            stackPos[v] = -1;
+        }
+    }
+
+    private int popTo(int level, int depth) {
+        for (int i = depth; i > level; i--) {
+            stackPos[stackVertex[i]] = -1;
+        }
+        return level;
+    }
+
+    /** Fluxo que sai de v menos o que entra. */
+    private int netOutflow(int v) {
+        int total = 0;
+        for (int i = graph.arcsStart(v); i < graph.arcsEnd(v); i++) {
+            total += graph.getFlow(graph.arcAt(i));
+        }
+        return total;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= graph.getNumVertices()) {
+            throw new IllegalArgumentException("Vértice inválido: " + v);
+        }
+    }
+}
@@ -2,58 +2,68 @@ package br.edu.ufcg.grafos;
 
 /**
  * Representa uma aresta direcionada em um grafo com capacidade.
+ *
+ * É uma visão sobre um arco de {@link DirectedGraph}: os dados ficam nos
+ * arrays do grafo e leituras/escritas feitas aqui refletem diretamente nele.
  */
 public class Edge {
-    private int from;
-    private int to;
-    private int capacity;
-    private int flow;
-    private Edge reverse;
+    private final DirectedGraph graph;
+    private final int arc;
 
-    public Edge(int from, int to, int capacity) {
-        this.from = from;
-        this.to = to;
-        this.capacity = capacity;
-        this.flow = 0;
+    Edge(DirectedGraph graph, int arc) {
+        this.graph = graph;
+        this.arc = arc;
+    }
+
+    /** Índice do arco no grafo. */
+    public int getArc() {
+        return arc;
     }
 
     public int getFrom() {
-        return from;
+        return graph.getTail(arc);
     }
 
     public int getTo() {
-        return to;
+        return graph.getHead(arc);
     }
 
     public int getCapacity() {
-        return capacity;
+        return graph.getCapacity(arc);
     }
 
     public int getFlow() {
-        return flow;
+        return graph.getFlow(arc);
     }
 
+    /** Define o fluxo do arco (e, por antissimetria, o do reverso). */
     public void setFlow(int flow) {
-        this.flow = flow;
+        graph.addFlow(arc, flow - graph.getFlow(arc));
     }
 
     public int getResidualCapacity() {
-        return capacity - flow;
+        return graph.getResidualCapacity(arc);
     }
 
     public Edge getReverse() {
-        return reverse;
+        return new Edge(graph, arc ^ 1);
     }
 
-    public void setReverse(Edge reverse) {
-        this.reverse = reverse;
+    public void addFlow(int amount) {
+        graph.addFlow(arc, amount);
     }
 
-    public void addFlow(int amount) {
-        this.flow += amount;
-        if (reverse != null) {
-            reverse.flow -= amount;
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Edge)) {
+            return false;
         }
+        Edge other = (Edge) obj;
+        return graph == other.graph && arc == other.arc;
     }
-}
 
+    @Override
+    public int hashCode() {
+        return arc;
+    }
+}
@@ -1,21 +1,64 @@
 package br.edu.ufcg.grafos;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Classe principal para encontrar caminhos disjuntos em arestas.
  */
 public class EdgeDisjointPaths {
     
+    /**
+     * Fases medidas em cada busca, em nanossegundos.
+     */
+    public enum Phase {
+        /** Cópia do grafo ou montagem da rede com vértices divididos. */
+        COPY("Cópia/montagem"),
+        /** Fluxo máximo. */
+        FLOW("Fluxo"),
+        /** Decomposição do fluxo em caminhos. */
+        DECOMPOSITION("Decomposição"),
+        /** Listas de caminhos do resultado e corte mínimo. */
+        OUTPUT("Saída");
+        
+        private final String displayName;
+        
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
     public static class Result {
         private int numPaths;
         private List<List<Integer>> paths;
         private long executionTime;
+        private MinCut minCut;
+        private long[] phaseNanos;
+        private TimingStats timings;
+        private TimingStats[] phaseTimings;
         
         public Result(int numPaths, List<List<Integer>> paths, long executionTime) {
+            this(numPaths, paths, executionTime, null);
+        }
+        
+        public Result(int numPaths, List<List<Integer>> paths, long executionTime, MinCut minCut) {
             this.numPaths = numPaths;
             this.paths = paths;
             this.executionTime = executionTime;
+            this.minCut = minCut;
+        }
+        
+        /**
+         * Resultado com o tempo de cada fase ({@link Phase}), em ns; o tempo
+         * em ms é a soma das fases.
+         */
+        Result(List<List<Integer>> paths, MinCut minCut, long[] phaseNanos) {
+            this(paths.size(), paths, sum(phaseNanos) / 1_000_000, minCut);
+            this.phaseNanos = phaseNanos;
         }
         
         public int getNumPaths() {
@@ -26,118 +69,222 @@ public class EdgeDisjointPaths {
             return paths;
         }
         
+        /** Tempo total da busca, em milissegundos (truncado). */
         public long getExecutionTime() {
             return executionTime;
         }
+        
+        /** Tempo total da busca, em nanossegundos. */
+        public long getTotalNanos() {
+            return phaseNanos != null ? sum(phaseNanos) : executionTime * 1_000_000;
+        }
+        
+        /** Tempo da fase nesta busca, em ns, ou -1 se não foi medido. */
+        public long getPhaseNanos(Phase phase) {
+            return phaseNanos != null ? phaseNanos[phase.ordinal()] : -1;
+        }
+        
+        /**
+         * Tempos totais das repetições de {@link #measure}; para uma busca
+         * isolada, uma única amostra.
+         */
+        public TimingStats getTimings() {
+            return timings != null ? timings : TimingStats.of(getTotalNanos());
+        }
+        
+        /**
+         * Tempos da fase nas repetições de {@link #measure}, ou null se a
+         * fase não foi medida.
+         */
+        public TimingStats getPhaseTimings(Phase phase) {
+            if (phaseTimings != null) {
+                return phaseTimings[phase.ordinal()];
+            }
+            return phaseNanos != null ? TimingStats.of(phaseNanos[phase.ordinal()]) : null;
+        }
+        
+        /**
+         * Corte mínimo (arestas gargalo) entre origem e destino, ou null no
+         * modo de caminhos disjuntos em vértices.
+         */
+        public MinCut getMinCut() {
+            return minCut;
+        }
+        
+        private static long sum(long[] values) {
+            long total = 0;
+            for (long value : values) {
+                total += value;
+            }
+            return total;
+        }
     }
     
     /**
-     * Encontra todos os caminhos disjuntos em arestas entre source e sink.
+     * Executa a busca 'warmup' vezes sem medir (para o JIT compilar o
+     * código) e depois 'trials' vezes, medindo cada fase. Devolve o
+     * resultado da última repetição com mínimo, mediana e percentis de
+     * todas ({@link Result#getTimings()}, {@link Result#getPhaseTimings}).
+     *
+     * Exemplo: measure(() -> findEdgeDisjointPaths(graph, s, t), 5, 20).
+     */
+    public static Result measure(Supplier<Result> search, int warmup, int trials) {
+        if (warmup < 0 || trials < 1) {
+            throw new IllegalArgumentException("Aquecimento ou repetições inválidos: " + warmup + ", " + trials);
+        }
+        for (int i = 0; i < warmup; i++) {
+            search.get();
+        }
+        
+        Phase[] phases = Phase.values();
+        long[] totals = new long[trials];
+        long[][] samples = new long[phases.length][trials];
+        Result result = null;
+        for (int i = 0; i < trials; i++) {
+            result = search.get();
+            totals[i] = result.getTotalNanos();
+            for (Phase phase : phases) {
+                samples[phase.ordinal()][i] = Math.max(result.getPhaseNanos(phase), 0);
+            }
+        }
+        
+        result.timings = TimingStats.of(totals);
+        if (result.phaseNanos != null) {
+            result.phaseTimings = new TimingStats[phases.length];
+            for (Phase phase : phases) {
+                result.phaseTimings[phase.ordinal()] = TimingStats.of(samples[phase.ordinal()]);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Encontra todos os caminhos disjuntos em arestas entre source e sink
+     * (fluxo máximo por Edmonds-Karp).
      */
     public static Result findEdgeDisjointPaths(DirectedGraph graph, int source, int sink) {
-        long startTime = System.nanoTime();
+        return findEdgeDisjointPaths(graph, source, sink, MaxFlowAlgorithm.EDMONDS_KARP);
+    }
+    
+    /**
+     * Encontra todos os caminhos disjuntos em arestas entre source e sink
+     * usando o algoritmo de fluxo máximo indicado.
+     */
+    public static Result findEdgeDisjointPaths(DirectedGraph graph, int source, int sink,
+                                               MaxFlowAlgorithm algorithm) {
+        long[] phaseNanos = new long[Phase.values().length];
+        long time = System.nanoTime();
         
         // Criar cópia do grafo para não modificar o original
-        DirectedGraph graphCopy = copyGraph(graph);
+        DirectedGraph graphCopy = graph.copy();
+        time = lap(phaseNanos, Phase.COPY, time);
         
         // Calcular fluxo máximo
-        int maxFlow = graphCopy.maxFlow(source, sink);
+        algorithm.maxFlow(graphCopy, source, sink);
+        time = lap(phaseNanos, Phase.FLOW, time);
         
-        // Extrair caminhos
-        List<List<Integer>> paths = extractPaths(graphCopy, source, sink, maxFlow);
+        // Decompor o fluxo em caminhos
+        FlowDecomposition decomposition = FlowDecomposition.decompose(graphCopy, source, sink);
+        time = lap(phaseNanos, Phase.DECOMPOSITION, time);
         
-        long endTime = System.nanoTime();
-        long executionTime = (endTime - startTime) / 1_000_000; // Converter para milissegundos
+        // Montar os caminhos e o corte mínimo
+        List<List<Integer>> paths = decomposition.toUnitPaths();
+        MinCut minCut = MinCut.compute(graphCopy, source);
+        lap(phaseNanos, Phase.OUTPUT, time);
         
-        return new Result(paths.size(), paths, executionTime);
+        return new Result(paths, minCut, phaseNanos);
     }
     
     /**
-     * Cria uma cópia do grafo.
+     * Registra o tempo desde 'start' na fase e devolve o instante atual.
      */
-    private static DirectedGraph copyGraph(DirectedGraph original) {
-        DirectedGraph copy = new DirectedGraph(original.getNumVertices());
-        
-        for (int i = 0; i < original.getNumVertices(); i++) {
-            for (Edge edge : original.getEdges(i)) {
-                if (edge.getCapacity() > 0 && edge.getReverse() != null && 
-                    edge.getReverse().getCapacity() == 0) {
-                    copy.addEdge(edge.getFrom(), edge.getTo(), edge.getCapacity());
-                }
-            }
-        }
-        
-        return copy;
+    static long lap(long[] phaseNanos, Phase phase, long start) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - start;
+        return now;
     }
     
     /**
-     * Extrai os caminhos do grafo residual após calcular o fluxo máximo.
+     * Encontra todos os caminhos internamente disjuntos em vértices entre
+     * source e sink (nenhum vértice além de source e sink é compartilhado),
+     * com fluxo máximo por Dinic.
      */
-    private static List<List<Integer>> extractPaths(DirectedGraph graph, int source, int sink, int maxFlow) {
-        List<List<Integer>> paths = new ArrayList<>();
+    public static Result findVertexDisjointPaths(DirectedGraph graph, int source, int sink) {
+        return findVertexDisjointPaths(graph, source, sink, MaxFlowAlgorithm.DINIC);
+    }
+    
+    /**
+     * Encontra todos os caminhos internamente disjuntos em vértices entre
+     * source e sink usando o algoritmo de fluxo máximo indicado.
+     *
+     * O fluxo roda na rede com vértices divididos: v vira v_in = v e
+     * v_out = v + n, ligados por um arco de capacidade 1; cada aresta u -> v
+     * vira u_out -> v_in. A origem é source_out e o destino é sink_in. A rede
+     * é montada direto nos arrays de arcos e os caminhos voltam com os IDs
+     * originais.
+     */
+    public static Result findVertexDisjointPaths(DirectedGraph graph, int source, int sink,
+                                                 MaxFlowAlgorithm algorithm) {
+        long[] phaseNanos = new long[Phase.values().length];
+        long time = System.nanoTime();
         
-        // Encontrar caminhos usando DFS no grafo residual
-        // O número máximo de caminhos é igual ao fluxo máximo
-        for (int i = 0; i < maxFlow; i++) {
-            List<Integer> path = findPathDFS(graph, source, sink);
-            if (path == null || path.isEmpty()) {
-                break;
-            }
+        int n = graph.getNumVertices();
+        if (source < 0 || source >= n || sink < 0 || sink >= n) {
+            throw new IllegalArgumentException("Vértices inválidos: " + source + " -> " + sink);
+        }
+        
+        List<List<Integer>> paths = new ArrayList<>();
+        if (source != sink) {
+            DirectedGraph split = buildSplitNetwork(graph);
+            time = lap(phaseNanos, Phase.COPY, time);
+            algorithm.maxFlow(split, source + n, sink);
+            time = lap(phaseNanos, Phase.FLOW, time);
+            FlowDecomposition decomposition = FlowDecomposition.decompose(split, source + n, sink);
+            time = lap(phaseNanos, Phase.DECOMPOSITION, time);
             
-            // Remover fluxo deste caminho (marcar arestas como usadas)
-            for (int j = 0; j < path.size() - 1; j++) {
-                int u = path.get(j);
-                int v = path.get(j + 1);
-                
-                // Encontrar a aresta forward e reduzir seu fluxo
-                for (Edge edge : graph.getEdges(u)) {
-                    if (edge.getTo() == v && edge.getFlow() > 0 && edge.getCapacity() > 0) {
-                        edge.addFlow(-1);
-                        break;
-                    }
+            for (int i = 0; i < decomposition.getNumPaths(); i++) {
+                // source_out, a_in, a_out, ..., sink_in -> source, a, ..., sink
+                List<Integer> path = new ArrayList<>();
+                path.add(source);
+                for (int j = 1; j < decomposition.getPathLength(i); j += 2) {
+                    path.add(decomposition.getVertex(i, j));
+                }
+                for (int c = 0; c < decomposition.getAmount(i); c++) {
+                    paths.add(c == 0 ? path : new ArrayList<>(path));
                 }
             }
-            
-            paths.add(new ArrayList<>(path)); // Adicionar cópia do caminho
         }
+        lap(phaseNanos, Phase.OUTPUT, time);
         
-        return paths;
+        return new Result(paths, null, phaseNanos);
     }
     
     /**
-     * Encontra um caminho de source para sink usando DFS no grafo residual.
+     * Rede com vértices divididos (2n vértices): primeiro os arcos internos
+     * v_in -> v_out, depois as arestas originais u_out -> v_in, na ordem dos
+     * arcos do grafo.
      */
-    private static List<Integer> findPathDFS(DirectedGraph graph, int source, int sink) {
-        boolean[] visited = new boolean[graph.getNumVertices()];
-        List<Integer> path = new ArrayList<>();
+    private static DirectedGraph buildSplitNetwork(DirectedGraph graph) {
+        int n = graph.getNumVertices();
+        int numEdges = n + graph.getNumEdges();
+        int[] tails = new int[numEdges];
+        int[] heads = new int[numEdges];
+        int[] capacities = new int[numEdges];
         
-        if (dfs(graph, source, sink, visited, path)) {
-            return path;
+        for (int v = 0; v < n; v++) {
+            tails[v] = v;
+            heads[v] = v + n;
+            capacities[v] = 1;
         }
-        
-        return null;
-    }
-    
-    private static boolean dfs(DirectedGraph graph, int u, int sink, boolean[] visited, List<Integer> path) {
-        visited[u] = true;
-        path.add(u);
-        
-        if (u == sink) {
-            return true;
+        int m = n;
+        for (int e = 0; e < graph.getNumArcs(); e += 2) {
+            tails[m] = graph.getTail(e) + n;
+            heads[m] = graph.getHead(e);
+            capacities[m] = graph.getCapacity(e);
+            m++;
         }
         
-        for (Edge edge : graph.getEdges(u)) {
-            int v = edge.getTo();
-            if (!visited[v] && edge.getFlow() > 0) {
-                if (dfs(graph, v, sink, visited, path)) {
-                    return true;
-                }
-            }
-        }
-        
-        path.remove(path.size() - 1);
-        visited[u] = false;
-        return false;
+        return DirectedGraph.fromEdges(2 * n, m, tails, heads, capacities);
     }
     
     /**
@@ -150,7 +297,7 @@ public class EdgeDisjointPaths {
         System.out.println("Origem: " + source);
         System.out.println("Destino: " + sink);
         System.out.println("Quantidade de caminhos disjuntos: " + result.getNumPaths());
-        System.out.println("Tempo de execução: " + result.getExecutionTime() + " ms");
+        System.out.printf("Tempo de execução: %.3f ms%n", result.getTotalNanos() / 1e6);
         System.out.println();
         
         if (result.getPaths().isEmpty()) {
@@ -169,6 +316,20 @@ public class EdgeDisjointPaths {
                 System.out.println();
             }
         }
+        
+        MinCut minCut = result.getMinCut();
+        if (minCut != null && minCut.getNumCutEdges() > 0) {
+            System.out.println();
+            System.out.print("Corte mínimo (" + minCut.getNumCutEdges()
+                + (minCut.getNumCutEdges() == 1 ? " aresta): " : " arestas): "));
+            for (int i = 0; i < minCut.getNumCutEdges(); i++) {
+                System.out.print(minCut.getCutFrom()[i] + " -> " + minCut.getCutTo()[i]);
+                if (i < minCut.getNumCutEdges() - 1) {
+                    System.out.print(", ");
+                }
+            }
+            System.out.println();
+        }
         System.out.println("========================================");
     }
 }
@@ -0,0 +1,132 @@
+package br.edu.ufcg.grafos;
+
+import java.util.*;
+
+/**
+ * Compara os algoritmos de fluxo máximo ({@link MaxFlowAlgorithm}) nos
+ * mesmos grafos usados pelos testes, em tamanhos maiores.
+ * Cada medição descarta execuções de aquecimento e reporta a mediana.
+ */
+public class FlowBenchmark {
+    
+    private static final int WARMUP = 2;
+    private static final int RUNS = 5;
+    
+    public static void main(String[] args) {
+        Map<String, DirectedGraph> graphs = new LinkedHashMap<>();
+        graphs.put("Completo 100", GraphGenerator.generateCompleteGraph(100));
+        graphs.put("Completo 200", GraphGenerator.generateCompleteGraph(200));
+        graphs.put("Camadas 20x30", GraphGenerator.generateLayeredGraph(20, 30));
+        graphs.put("Grade 100x100", GraphGenerator.generateGridGraph(100, 100));
+        graphs.put("Aleatório 2000 (1%)", GraphGenerator.generateRandomGraph(2000, 0.01));
+        
+        System.out.println("Benchmark de fluxo máximo (mediana de " + RUNS + " execuções, em ms)");
+        System.out.printf("%-22s | %-13s | %8s | %10s%n", "Grafo", "Algoritmo", "Fluxo", "Tempo (ms)");
+        System.out.println("-----------------------|---------------|----------|-----------");
+        
+        for (Map.Entry<String, DirectedGraph> entry : graphs.entrySet()) {
+            DirectedGraph graph = entry.getValue();
+            int source = 0;
+            int sink = graph.getNumVertices() - 1;
+            Integer expected = null;
+            
+            for (MaxFlowAlgorithm algorithm : MaxFlowAlgorithm.values()) {
+                int flow = 0;
+                long[] times = new long[RUNS];
+                for (int i = 0; i < WARMUP + RUNS; i++) {
+                    long start = System.nanoTime();
+                    flow = algorithm.maxFlow(graph, source, sink);
+                    long elapsed = System.nanoTime() - start;
+                    if (i >= WARMUP) {
+                        times[i - WARMUP] = elapsed;
+                    }
+                }
+                Arrays.sort(times);
+                
+                if (expected == null) {
+                    expected = flow;
+                } else if (expected != flow) {
+                    System.err.println("DIVERGÊNCIA em " + entry.getKey() + ": " + algorithm.getDisplayName()
+                        + " = " + flow + ", esperado " + expected);
+                }
+                
+                System.out.printf("%-22s | %-13s | %8d | %10.3f%n",
+                    entry.getKey(), algorithm.getDisplayName(), flow, times[RUNS / 2] / 1_000_000.0);
+            }
+        }
+        
+        benchmarkRepeatedQueries(GraphGenerator.generateRandomGraph(2000, 0.01), 200);
+    }
+    
+    /**
+     * Consultas repetidas no mesmo grafo: uma chamada independente de
+     * {@link EdgeDisjointPaths} por consulta contra um {@link DisjointPathQuery}
+     * reaproveitando o fluxo anterior. Mede dois cenários: destinos variando
+     * com a origem fixa e mudanças de capacidade com o par fixo.
+     */
+    private static void benchmarkRepeatedQueries(DirectedGraph graph, int numQueries) {
+        int n = graph.getNumVertices();
+        Random random = new Random(42);
+        int[] sinks = new int[numQueries];
+        for (int i = 0; i < numQueries; i++) {
+            sinks[i] = 1 + random.nextInt(n - 1);
+        }
+        
+        System.out.println();
+        System.out.println("Consultas repetidas (" + numQueries + " consultas, tempo total em ms)");
+        
+        long start = System.nanoTime();
+        for (int sink : sinks) {
+            EdgeDisjointPaths.findEdgeDisjointPaths(graph, 0, sink, MaxFlowAlgorithm.DINIC);
+        }
+        long independent = System.nanoTime() - start;
+        
+        DisjointPathQuery query = new DisjointPathQuery(graph);
+        start = System.nanoTime();
+        for (int sink : sinks) {
+            query.query(0, sink);
+        }
+        long incremental = System.nanoTime() - start;
+        System.out.printf("%-20s | independente %10.3f | incremental %10.3f%n", "Destinos variados",
+            independent / 1_000_000.0, incremental / 1_000_000.0);
+        
+        // Remove e recoloca arestas da origem, consultando sempre o mesmo par
+        DirectedGraph current = graph.copy();
+        int sink = n - 1;
+        int[] arcs = new int[current.arcsEnd(0) - current.arcsStart(0)];
+        int numArcs = 0;
+        for (int i = current.arcsStart(0); i < current.arcsEnd(0); i++) {
+            if (current.isForward(current.arcAt(i))) {
+                arcs[numArcs++] = current.arcAt(i);
+            }
+        }
+        if (numArcs == 0) {
+            return;
+        }
+        
+        query.reset();
+        query.maxFlow(0, sink);
+        long independentTime = 0;
+        long incrementalTime = 0;
+        for (int i = 0; i < numQueries; i++) {
+            int arc = arcs[random.nextInt(numArcs)];
+            int capacity = current.getCapacity(arc) == 0 ? 1 : 0;
+            current.setCapacity(arc, capacity);
+            
+            start = System.nanoTime();
+            int expected = EdgeDisjointPaths.findEdgeDisjointPaths(current, 0, sink, MaxFlowAlgorithm.DINIC).getNumPaths();
+            independentTime += System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            query.setCapacity(0, current.getHead(arc), capacity);
+            int flow = query.query(0, sink).getNumPaths();
+            incrementalTime += System.nanoTime() - start;
+            
+            if (flow != expected) {
+                System.err.println("DIVERGÊNCIA na consulta incremental: " + flow + ", esperado " + expected);
+            }
+        }
+        System.out.printf("%-20s | independente %10.3f | incremental %10.3f%n", "Capacidades variadas",
+            independentTime / 1_000_000.0, incrementalTime / 1_000_000.0);
+    }
+}
@@ -0,0 +1,205 @@
+package br.edu.ufcg.grafos;
+
+import java.util.*;
+
+/**
+ * Decomposição do fluxo de um {@link DirectedGraph} em caminhos de source a
+ * sink.
+ *
+ * Uma única caminhada percorre os arcos com fluxo, usando ponteiros de "arco
+ * atual" por vértice (um arco sem fluxo nunca é reexaminado) e uma pilha
+ * explícita com o caminho corrente. Ao chegar no destino, o caminho é gravado
+ * e o seu gargalo é descontado; ao fechar um ciclo, o fluxo do ciclo é
+ * cancelado, já que não contribui para o valor do fluxo. Para capacidades
+ * unitárias o custo total é O(V + E).
+ *
+ * Os caminhos ficam em um buffer primitivo: os vértices de todos os caminhos
+ * em sequência, com os offsets de início de cada um.
+ */
+public class FlowDecomposition {
+
+    private int[] vertices;   // Vértices de todos os caminhos, em sequência
+    private int[] pathStart;  // Tamanho numPaths + 1
+    private int[] amounts;    // Fluxo carregado por cada caminho
+    private int numPaths;
+    private long totalFlow;
+
+    private FlowDecomposition(int expectedVertices) {
+        this.vertices = new int[Math.max(expectedVertices, 16)];
+        this.pathStart = new int[17];
+        this.amounts = new int[17];
+    }
+
+    /**
+     * Decompõe o fluxo atual do grafo. O grafo não é modificado: a
+     * decomposição trabalha sobre uma cópia dos fluxos.
+     */
+    public static FlowDecomposition decompose(DirectedGraph graph, int source, int sink) {
+        int n = graph.getNumVertices();
+        int[] offsets = graph.arcOffsets();
+        int[] arcs = graph.arcList();
+        int[] head = graph.head;
+        int[] remaining = Arrays.copyOf(graph.flow, graph.getNumArcs());
+
+        FlowDecomposition result = new FlowDecomposition(n);
+        if (source == sink) {
+            return result;
+        }
+
+        int[] current = Arrays.copyOf(offsets, n);
+        int[] stackArcs = new int[n];   // Arco de entrada de cada nível da pilha
+        int[] stackPos = new int[n];    // Posição do vértice na pilha, -1 se fora
+        int[] stackVertex = new int[n + 1];
+        Arrays.fill(stackPos, -1);
+
+        int depth = 0;
+        stackVertex[0] = source;
+        stackPos[source] = 0;
+
+        while (true) {
+            int u = stackVertex[depth];
+
+            if (u == sink) {
+                int bottleneck = Integer.MAX_VALUE;
+                for (int i = 0; i < depth; i++) {
+                    bottleneck = Math.min(bottleneck, remaining[stackArcs[i]]);
+                }
+                result.addPath(stackVertex, depth + 1, bottleneck);
+
+                // Desconta o caminho e recua até a origem do primeiro arco esgotado
+                int firstEmpty = -1;
+                for (int i = 0; i < depth; i++) {
+                    remaining[stackArcs[i]] -= bottleneck;
+                    if (firstEmpty < 0 && remaining[stackArcs[i]] == 0) {
+                        firstEmpty = i;
+                    }
+                }
+                depth = popTo(firstEmpty, depth, stackVertex, stackPos);
+                continue;
+            }
+
+            // Avança o arco atual até um arco com fluxo
+            int end = offsets[u + 1];
+            while (current[u] < end && remaining[arcs[current[u]]] <= 0) {
+                current[u]++;
+            }
+
+            if (current[u] == end) {
+                // Sem fluxo saindo de u: por conservação, só ocorre na origem
+                if (depth == 0) {
+                    break;
+                }
+                // Fluxo sem continuação (não conservado): descarta o arco de entrada
+                remaining[stackArcs[depth - 1]] = 0;
+                depth = popTo(depth - 1, depth, stackVertex, stackPos);
+                continue;
+            }
+
+            int e = arcs[current[u]];
+            int v = head[e];
+            if (stackPos[v] >= 0) {
+                // Ciclo v -> ... -> u -> v: cancela o fluxo dele
+                int start = stackPos[v];
+                int bottleneck = remaining[e];
+                for (int i = start; i < depth; i++) {
+                    bottleneck = Math.min(bottleneck, remaining[stackArcs[i]]);
+                }
+                remaining[e] -= bottleneck;
+                for (int i = start; i < depth; i++) {
+                    remaining[stackArcs[i]] -= bottleneck;
+                }
+                depth = popTo(start, depth, stackVertex, stackPos);
+            } else {
+                stackArcs[depth] = e;
+                stackVertex[++depth] = v;
+                stackPos[v] = depth;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Desempilha os vértices acima do nível 'level' e retorna o novo topo.
+     */
+    private static int popTo(int level, int depth, int[] stackVertex, int[] stackPos) {
+        for (int i = depth; i > level; i--) {
+            stackPos[stackVertex[i]] = -1;
+        }
+        return level;
+    }
+
+    private void addPath(int[] path, int length, int amount) {
+        int start = pathStart[numPaths];
+        if (start + length > vertices.length) {
+            vertices = Arrays.copyOf(vertices, Math.max(vertices.length * 2, start + length));
+        }
+        if (numPaths + 2 > pathStart.length) {
+            pathStart = Arrays.copyOf(pathStart, pathStart.length * 2);
+            amounts = Arrays.copyOf(amounts, amounts.length * 2);
+        }
+        System.arraycopy(path, 0, vertices, start, length);
+        amounts[numPaths] = amount;
+        numPaths++;
+        pathStart[numPaths] = start + length;
+        totalFlow += amount;
+    }
+
+    /** Número de caminhos distintos da decomposição. */
+    public int getNumPaths() {
+        return numPaths;
+    }
+
+    /** Soma dos fluxos dos caminhos (igual ao valor do fluxo decomposto). */
+    public long getTotalFlow() {
+        return totalFlow;
+    }
+
+    /** Número de vértices do caminho i. */
+    public int getPathLength(int i) {
+        return pathStart[i + 1] - pathStart[i];
+    }
+
+    /** j-ésimo vértice do caminho i. */
+    public int getVertex(int i, int j) {
+        return vertices[pathStart[i] + j];
+    }
+
+    /** Fluxo carregado pelo caminho i. */
+    public int getAmount(int i) {
+        return amounts[i];
+    }
+
+    /**
+     * Buffer com os vértices de todos os caminhos, sem cópia; o caminho i
+     * ocupa [getPathOffsets()[i], getPathOffsets()[i + 1]). Não deve ser modificado.
+     */
+    public int[] getPathBuffer() {
+        return vertices;
+    }
+
+    /** Offsets dos caminhos no buffer, sem cópia (tamanho getNumPaths() + 1). */
+    public int[] getPathOffsets() {
+        return pathStart;
+    }
+
+    /**
+     * Caminhos de uma unidade de fluxo: cada caminho aparece tantas vezes
+     * quanto o fluxo que carrega. Com capacidades unitárias, são os caminhos
+     * disjuntos em arestas.
+     */
+    public List<List<Integer>> toUnitPaths() {
+        List<List<Integer>> paths = new ArrayList<>();
+        for (int i = 0; i < numPaths; i++) {
+            List<Integer> path = new ArrayList<>(getPathLength(i));
+            for (int k = pathStart[i]; k < pathStart[i + 1]; k++) {
+                path.add(vertices[k]);
+            }
+            paths.add(path);
+            for (int c = 1; c < amounts[i]; c++) {
+                paths.add(new ArrayList<>(path));
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,314 @@
+package br.edu.ufcg.grafos;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Árvore de fluxo equivalente (Gomory-Hu, pelo método de Gusfield) de um
+ * grafo simétrico: para cada aresta u -> v com capacidade c existe v -> u
+ * com a mesma capacidade, ou seja, o grafo representa um grafo não
+ * direcionado.
+ *
+ * A árvore é construída com V - 1 fluxos máximos e, para qualquer par (u, v),
+ * o número de caminhos disjuntos em arestas (conectividade) é o menor peso no
+ * caminho entre u e v na árvore.
+ *
+ * O método de Gusfield é sequencial: o par do passo s depende dos cortes dos
+ * passos anteriores. Os fluxos são calculados em lotes especulativos em
+ * paralelo, cada thread com a sua cópia do grafo; ao confirmar os resultados
+ * em ordem, um passo cujo par mudou nesse meio-tempo é recalculado.
+ */
+public class GomoryHuTree {
+
+    private final int numVertices;
+    private final int[] parent; // Pai na árvore (raiz 0, pai -1)
+    private final int[] weight; // Peso da aresta v - parent[v]
+    private final int[] depth;
+    private int numFlows;
+
+    // Menor corte global: a menor aresta da árvore e o lado do corte dela
+    private int minCutValue = Integer.MAX_VALUE;
+    private long[] minCutSide;
+
+    private GomoryHuTree(int numVertices) {
+        this.numVertices = numVertices;
+        this.parent = new int[numVertices];
+        this.weight = new int[numVertices];
+        this.depth = new int[numVertices];
+    }
+
+    /**
+     * Constrói a árvore usando todos os processadores disponíveis.
+     */
+    public static GomoryHuTree build(DirectedGraph graph) {
+        return build(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constrói a árvore com até 'parallelism' fluxos simultâneos.
+     *
+     * @throws IllegalArgumentException se o grafo não for simétrico.
+     */
+    public static GomoryHuTree build(DirectedGraph graph, int parallelism) {
+        checkSymmetric(graph);
+        int n = graph.getNumVertices();
+        GomoryHuTree tree = new GomoryHuTree(n);
+        if (n == 0) {
+            return tree;
+        }
+
+        int threads = Math.max(1, Math.min(parallelism, n - 1));
+        Worker[] workers = new Worker[threads];
+        for (int w = 0; w < threads; w++) {
+            workers[w] = new Worker(graph);
+        }
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+
+        try {
+            tree.run(workers, executor);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        tree.parent[0] = -1;
+        tree.weight[0] = -1;
+        for (int v = 1; v < n; v++) {
+            tree.depth[v] = tree.depth[tree.parent[v]] + 1; // parent[v] < v
+        }
+        return tree;
+    }
+
+    /**
+     * Laço de Gusfield com lotes especulativos: calcula em paralelo os
+     * próximos passos cujo resultado não existe ou foi feito com um par
+     * desatualizado e confirma, em ordem, os que continuam válidos.
+     */
+    private void run(Worker[] workers, ExecutorService executor) {
+        int n = numVertices;
+        Cut[] pending = new Cut[n];
+        int next = 1;
+
+        while (next < n) {
+            List<Callable<Cut>> batch = new ArrayList<>();
+            for (int s = next; s < n && batch.size() < workers.length; s++) {
+                if (pending[s] == null || pending[s].target != parent[s]) {
+                    Worker worker = workers[batch.size()];
+                    int source = s;
+                    int target = parent[s];
+                    batch.add(() -> worker.minCut(source, target));
+                }
+            }
+            for (Cut cut : runBatch(batch, executor)) {
+                pending[cut.source] = cut;
+            }
+            numFlows += batch.size();
+
+            while (next < n && pending[next] != null && pending[next].target == parent[next]) {
+                commit(pending[next]);
+                pending[next] = null;
+                next++;
+            }
+        }
+    }
+
+    private static List<Cut> runBatch(List<Callable<Cut>> batch, ExecutorService executor) {
+        List<Cut> cuts = new ArrayList<>(batch.size());
+        try {
+            if (executor == null || batch.size() == 1) {
+                for (Callable<Cut> task : batch) {
+                    cuts.add(task.call());
+                }
+            } else {
+                for (Future<Cut> future : executor.invokeAll(batch)) {
+                    cuts.add(future.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Construção da árvore interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no cálculo de um fluxo", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha no cálculo de um fluxo", e);
+        }
+        return cuts;
+    }
+
+    /**
+     * Passo de Gusfield para s: o corte (s, parent[s]) define o peso da
+     * aresta e os vértices posteriores do lado de s passam a ser filhos de s.
+     */
+    private void commit(Cut cut) {
+        int s = cut.source;
+        int t = cut.target;
+        weight[s] = cut.value;
+        for (int i = s + 1; i < numVertices; i++) {
+            if (parent[i] == t && inSide(cut.side, i)) {
+                parent[i] = s;
+            }
+        }
+        if (cut.value < minCutValue) {
+            minCutValue = cut.value;
+            minCutSide = cut.side;
+        }
+    }
+
+    private static boolean inSide(long[] side, int v) {
+        return (side[v >>> 6] & (1L << v)) != 0;
+    }
+
+    private static void checkSymmetric(DirectedGraph graph) {
+        for (int e = 0; e < graph.getNumArcs(); e += 2) {
+            int u = graph.getTail(e);
+            int v = graph.getHead(e);
+            int back = graph.findArc(v, u);
+            int backCapacity = back < 0 ? 0 : graph.getCapacity(back);
+            if (graph.getCapacity(e) != backCapacity) {
+                throw new IllegalArgumentException("Grafo não simétrico: " + u + " -> " + v
+                        + " tem capacidade " + graph.getCapacity(e) + " e " + v + " -> " + u
+                        + " tem " + backCapacity);
+            }
+        }
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /** Pai de v na árvore (-1 para a raiz 0). */
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    /** Peso da aresta entre v e o seu pai (-1 para a raiz). */
+    public int getWeight(int v) {
+        return weight[v];
+    }
+
+    /**
+     * Fluxos máximos calculados na construção (V - 1 mais os recálculos de
+     * passos especulativos invalidados).
+     */
+    public int getNumFlows() {
+        return numFlows;
+    }
+
+    /**
+     * Número de caminhos disjuntos em arestas entre u e v: menor peso no
+     * caminho entre eles na árvore, em O(V).
+     */
+    public int connectivity(int u, int v) {
+        if (u == v) {
+            throw new IllegalArgumentException("Vértices iguais: " + u);
+        }
+        int min = Integer.MAX_VALUE;
+        while (u != v) {
+            if (depth[u] >= depth[v]) {
+                min = Math.min(min, weight[u]);
+                u = parent[u];
+            } else {
+                min = Math.min(min, weight[v]);
+                v = parent[v];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Conectividade de u com todos os vértices (posição u recebe -1), com uma
+     * única busca na árvore, em O(V).
+     */
+    public int[] connectivityFrom(int u) {
+        int n = numVertices;
+        // Lista de adjacência da árvore em CSR
+        int[] offsets = new int[n + 1];
+        for (int v = 1; v < n; v++) {
+            offsets[v + 1]++;
+            offsets[parent[v] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] neighbors = new int[2 * Math.max(n - 1, 0)];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int v = 1; v < n; v++) {
+            neighbors[next[v]++] = parent[v];
+            neighbors[next[parent[v]]++] = v;
+        }
+
+        int[] result = new int[n];
+        Arrays.fill(result, -2);
+        result[u] = -1;
+        int[] stack = new int[n];
+        int size = 0;
+        stack[size++] = u;
+        while (size > 0) {
+            int x = stack[--size];
+            for (int i = offsets[x]; i < offsets[x + 1]; i++) {
+                int y = neighbors[i];
+                if (result[y] == -2) {
+                    // Peso da aresta x - y está no filho
+                    int w = parent[y] == x ? weight[y] : weight[x];
+                    result[y] = x == u ? w : Math.min(result[x], w);
+                    stack[size++] = y;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Valor do menor corte global (menor aresta da árvore), ou
+     * Integer.MAX_VALUE se o grafo tiver menos de dois vértices.
+     */
+    public int getGlobalMinCutValue() {
+        return minCutValue;
+    }
+
+    /**
+     * Um lado do menor corte global, como bitset (bit v da palavra v / 64),
+     * ou null se o grafo tiver menos de dois vértices.
+     */
+    public long[] getGlobalMinCutSide() {
+        return minCutSide == null ? null : minCutSide.clone();
+    }
+
+    /**
+     * Resultado de um fluxo (source, target): valor e lado de source.
+     */
+    private static final class Cut {
+        final int source;
+        final int target;
+        final int value;
+        final long[] side;
+
+        Cut(int source, int target, int value, long[] side) {
+            this.source = source;
+            this.target = target;
+            this.value = value;
+            this.side = side;
+        }
+    }
+
+    /**
+     * Cópia do grafo e motor de fluxo de uma thread.
+     */
+    private static final class Worker {
+        private final DirectedGraph graph;
+        private final DinicMaxFlow engine;
+
+        Worker(DirectedGraph original) {
+            this.graph = original.copy();
+            this.graph.resetFlow();
+            this.engine = new DinicMaxFlow(graph, true);
+        }
+
+        Cut minCut(int source, int target) {
+            engine.resetTouched();
+            int value = engine.augment(source, target, Integer.MAX_VALUE);
+            return new Cut(source, target, value, MinCut.compute(graph, source).getSourceSide());
+        }
+    }
+}
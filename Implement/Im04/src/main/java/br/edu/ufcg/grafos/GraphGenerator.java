@@ -1,108 +1,287 @@
 package br.edu.ufcg.grafos;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
  * Gerador de grafos para testes.
+ *
+ * Os tamanhos são calculados em long e validados antes de alocar: um grafo
+ * cabe em um DirectedGraph se tiver no máximo {@link #MAX_EDGES} arestas.
+ * Nenhum gerador produz arestas repetidas, então os grafos são montados
+ * direto nos arrays de arcos ({@link DirectedGraph#fromEdges}). As versões
+ * com semente são reprodutíveis e podem ser chamadas de várias threads.
  */
 public class GraphGenerator {
-    
+
+    /** Maior número de arestas suportado (cada aresta ocupa dois arcos). */
+    public static final long MAX_EDGES = (Integer.MAX_VALUE - 8) / 2;
+
     private static Random random = new Random();
-    
+
     /**
      * Gera um grafo completo direcionado (todos os vértices conectados a todos).
      */
     public static DirectedGraph generateCompleteGraph(int numVertices) {
-        DirectedGraph graph = new DirectedGraph(numVertices);
-        
+        EdgeBuffer edges = new EdgeBuffer(checkEdges((long) numVertices * (numVertices - 1)));
+
         for (int i = 0; i < numVertices; i++) {
             for (int j = 0; j < numVertices; j++) {
                 if (i != j) {
-                    graph.addEdge(i, j);
+                    edges.add(i, j);
                 }
             }
         }
-        
-        return graph;
+
+        return edges.build(numVertices);
     }
-    
+
     /**
      * Gera um grafo em camadas (layered graph).
      * O grafo é dividido em camadas, onde cada vértice de uma camada
      * está conectado a todos os vértices da próxima camada.
      */
     public static DirectedGraph generateLayeredGraph(int numLayers, int verticesPerLayer) {
-        int numVertices = numLayers * verticesPerLayer;
-        DirectedGraph graph = new DirectedGraph(numVertices);
-        
+        int numVertices = checkVertices((long) numLayers * verticesPerLayer);
+        long numEdges = (long) Math.max(numLayers - 1, 0) * verticesPerLayer * verticesPerLayer;
+        EdgeBuffer edges = new EdgeBuffer(checkEdges(numEdges));
+
         for (int layer = 0; layer < numLayers - 1; layer++) {
             for (int i = 0; i < verticesPerLayer; i++) {
                 int from = layer * verticesPerLayer + i;
                 for (int j = 0; j < verticesPerLayer; j++) {
                     int to = (layer + 1) * verticesPerLayer + j;
-                    graph.addEdge(from, to);
+                    edges.add(from, to);
                 }
             }
         }
-        
-        return graph;
+
+        return edges.build(numVertices);
     }
-    
+
     /**
      * Gera um grafo aleatório com densidade controlada.
      */
     public static DirectedGraph generateRandomGraph(int numVertices, double density) {
-        DirectedGraph graph = new DirectedGraph(numVertices);
-        int maxEdges = numVertices * (numVertices - 1);
-        int numEdges = (int) (maxEdges * density);
-        
-        int edgesAdded = 0;
-        while (edgesAdded < numEdges) {
-            int from = random.nextInt(numVertices);
-            int to = random.nextInt(numVertices);
-            
-            if (from != to) {
-                // Verificar se a aresta já existe seria complexo, então apenas adicionamos
-                graph.addEdge(from, to);
-                edgesAdded++;
+        long maxEdges = (long) numVertices * (numVertices - 1);
+        return generateRandomGraph(numVertices, (long) (maxEdges * density), random.nextLong());
+    }
+
+    /**
+     * Gera um grafo aleatório com exatamente 'numEdges' arestas distintas e
+     * sem laços, sorteadas uniformemente entre os n * (n - 1) pares.
+     *
+     * Os pares são codificados como índices long em [0, n * (n - 1)),
+     * sorteados em lote, ordenados e deduplicados até completar a
+     * quantidade. Acima de metade da densidade, sorteia-se o complemento.
+     */
+    public static DirectedGraph generateRandomGraph(int numVertices, long numEdges, long seed) {
+        long maxEdges = (long) numVertices * (numVertices - 1);
+        if (numEdges < 0 || numEdges > maxEdges) {
+            throw new IllegalArgumentException("Número de arestas fora de [0, " + maxEdges + "]: " + numEdges);
+        }
+        checkEdges(numEdges);
+        Random rng = new Random(seed);
+
+        boolean complement = numEdges > maxEdges / 2;
+        long[] sample = sampleDistinct(rng, maxEdges, complement ? maxEdges - numEdges : numEdges);
+
+        EdgeBuffer edges = new EdgeBuffer((int) numEdges);
+        if (complement) {
+            // Todos os pares, exceto os sorteados (sample está ordenado)
+            int k = 0;
+            for (long index = 0; index < maxEdges; index++) {
+                if (k < sample.length && sample[k] == index) {
+                    k++;
+                } else {
+                    edges.addIndex(index, numVertices);
+                }
+            }
+        } else {
+            // Ordem aleatória das arestas, como na inserção original
+            shuffle(sample, rng);
+            for (long index : sample) {
+                edges.addIndex(index, numVertices);
             }
         }
-        
-        return graph;
+
+        return edges.build(numVertices);
+    }
+
+    /**
+     * Sorteia 'count' valores distintos em [0, bound), em ordem crescente.
+     */
+    private static long[] sampleDistinct(Random rng, long bound, long count) {
+        long[] values = new long[(int) count];
+        int size = 0;
+        while (size < count) {
+            for (int i = size; i < count; i++) {
+                values[i] = nextLong(rng, bound);
+            }
+            Arrays.sort(values);
+            size = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || values[i] != values[i - 1]) {
+                    values[size++] = values[i];
+                }
+            }
+        }
+        return values;
     }
-    
+
+    private static long nextLong(Random rng, long bound) {
+        if (bound <= Integer.MAX_VALUE) {
+            return rng.nextInt((int) bound);
+        }
+        long value;
+        long result;
+        do {
+            value = rng.nextLong() >>> 1;
+            result = value % bound;
+        } while (value - result + (bound - 1) < 0);
+        return result;
+    }
+
+    private static void shuffle(long[] values, Random rng) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
     /**
      * Gera um grafo em grade (grid graph direcionado).
      */
     public static DirectedGraph generateGridGraph(int rows, int cols) {
-        int numVertices = rows * cols;
-        DirectedGraph graph = new DirectedGraph(numVertices);
-        
+        int numVertices = checkVertices((long) rows * cols);
+        long numEdges = (long) rows * Math.max(cols - 1, 0) + (long) Math.max(rows - 1, 0) * cols;
+        EdgeBuffer edges = new EdgeBuffer(checkEdges(numEdges));
+
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
                 int current = i * cols + j;
-                
+
                 // Aresta para direita
                 if (j < cols - 1) {
-                    graph.addEdge(current, i * cols + (j + 1));
+                    edges.add(current, i * cols + (j + 1));
                 }
-                
+
                 // Aresta para baixo
                 if (i < rows - 1) {
-                    graph.addEdge(current, (i + 1) * cols + j);
+                    edges.add(current, (i + 1) * cols + j);
+                }
+            }
+        }
+
+        return edges.build(numVertices);
+    }
+
+    /**
+     * Gera um grafo com distribuição de graus em lei de potência
+     * (preferential attachment de Barabási-Albert).
+     *
+     * Cada vértice novo se liga a 'edgesPerVertex' vértices anteriores
+     * distintos, escolhidos com probabilidade proporcional ao grau; a direção
+     * de cada aresta é sorteada, para que existam caminhos nos dois sentidos.
+     */
+    public static DirectedGraph generatePowerLawGraph(int numVertices, int edgesPerVertex, long seed) {
+        if (edgesPerVertex < 1) {
+            throw new IllegalArgumentException("edgesPerVertex deve ser positivo: " + edgesPerVertex);
+        }
+        int m = Math.min(edgesPerVertex, Math.max(numVertices - 1, 1));
+        long numEdges = numVertices <= m ? 0 : (long) m * (m + 1) / 2 + (long) (numVertices - m - 1) * m;
+        EdgeBuffer edges = new EdgeBuffer(checkEdges(numEdges));
+        Random rng = new Random(seed);
+
+        // Cada vértice aparece uma vez por aresta incidente: sortear uma
+        // posição é sortear um vértice com probabilidade proporcional ao grau
+        int[] endpoints = new int[(int) Math.min(2 * numEdges, Integer.MAX_VALUE - 8)];
+        int numEndpoints = 0;
+        int[] chosen = new int[m];
+
+        for (int v = 1; v < numVertices; v++) {
+            int targets = Math.min(m, v);
+            int count = 0;
+            while (count < targets) {
+                int u = v <= m ? count : endpoints[rng.nextInt(numEndpoints)];
+                boolean repeated = false;
+                for (int i = 0; i < count; i++) {
+                    repeated |= chosen[i] == u;
+                }
+                if (!repeated) {
+                    chosen[count++] = u;
                 }
             }
+            for (int i = 0; i < count; i++) {
+                int u = chosen[i];
+                if (rng.nextBoolean()) {
+                    edges.add(v, u);
+                } else {
+                    edges.add(u, v);
+                }
+                endpoints[numEndpoints++] = u;
+                endpoints[numEndpoints++] = v;
+            }
+        }
+
+        return edges.build(numVertices);
+    }
+
+    private static int checkVertices(long numVertices) {
+        if (numVertices < 0 || numVertices > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Número de vértices grande demais: " + numVertices);
         }
-        
-        return graph;
+        return (int) numVertices;
     }
-    
+
+    private static int checkEdges(long numEdges) {
+        if (numEdges > MAX_EDGES) {
+            throw new IllegalArgumentException("Número de arestas grande demais: " + numEdges
+                + " (máximo " + MAX_EDGES + ")");
+        }
+        return (int) Math.max(numEdges, 0);
+    }
+
     /**
      * Salva um grafo em arquivo.
      */
     public static void saveGraph(DirectedGraph graph, String filename) throws IOException {
         GraphReader.writeGraph(filename, graph);
     }
-}
 
+    /**
+     * Arestas distintas acumuladas em arrays primitivos.
+     */
+    private static final class EdgeBuffer {
+        private final int[] tails;
+        private final int[] heads;
+        private int size;
+
+        EdgeBuffer(int capacity) {
+            tails = new int[capacity];
+            heads = new int[capacity];
+        }
+
+        void add(int from, int to) {
+            tails[size] = from;
+            heads[size] = to;
+            size++;
+        }
+
+        /** Par de índice 'index' em [0, n * (n - 1)), sem laços. */
+        void addIndex(long index, int numVertices) {
+            int from = (int) (index / (numVertices - 1));
+            int to = (int) (index % (numVertices - 1));
+            add(from, to < from ? to : to + 1);
+        }
+
+        DirectedGraph build(int numVertices) {
+            int[] capacities = new int[size];
+            Arrays.fill(capacities, 1); // Capacidade 1 para caminhos disjuntos
+            return DirectedGraph.fromEdges(numVertices, size, tails, heads, capacities);
+        }
+    }
+}
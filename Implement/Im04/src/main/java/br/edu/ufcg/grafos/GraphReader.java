@@ -46,12 +46,10 @@ public class GraphReader {
         
         writer.println(graph.getNumVertices());
         
-        for (int i = 0; i < graph.getNumVertices(); i++) {
-            for (Edge edge : graph.getEdges(i)) {
-                if (edge.getCapacity() > 0 && edge.getReverse() != null && 
-                    edge.getReverse().getCapacity() == 0) {
-                    writer.println(edge.getFrom() + " " + edge.getTo());
-                }
+        // Arestas repetidas foram somadas na capacidade: uma linha por unidade
+        for (int e = 0; e < graph.getNumArcs(); e += 2) {
+            for (int c = 0; c < graph.getCapacity(e); c++) {
+                writer.println(graph.getTail(e) + " " + graph.getHead(e));
             }
         }
         
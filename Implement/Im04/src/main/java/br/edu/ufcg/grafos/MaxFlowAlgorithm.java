@@ -0,0 +1,45 @@
+package br.edu.ufcg.grafos;
+
+/**
+ * Algoritmos de fluxo máximo disponíveis para {@link EdgeDisjointPaths}.
+ * Todos zeram os fluxos do grafo antes de calcular e deixam o fluxo final
+ * registrado nas arestas.
+ */
+public enum MaxFlowAlgorithm {
+
+    /** BFS por caminho aumentador, O(V * E²). Implementação original. */
+    EDMONDS_KARP("Edmonds-Karp") {
+        @Override
+        public int maxFlow(DirectedGraph graph, int source, int sink) {
+            return graph.maxFlow(source, sink);
+        }
+    },
+
+    /** Grafo de níveis + fluxo bloqueante, O(E * sqrt(E)) com capacidades unitárias. */
+    DINIC("Dinic") {
+        @Override
+        public int maxFlow(DirectedGraph graph, int source, int sink) {
+            return DinicMaxFlow.maxFlow(graph, source, sink);
+        }
+    },
+
+    /** Push-relabel FIFO com global relabel e gap. */
+    PUSH_RELABEL("Push-Relabel") {
+        @Override
+        public int maxFlow(DirectedGraph graph, int source, int sink) {
+            return PushRelabelMaxFlow.maxFlow(graph, source, sink);
+        }
+    };
+
+    private final String displayName;
+
+    MaxFlowAlgorithm(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public abstract int maxFlow(DirectedGraph graph, int source, int sink);
+}
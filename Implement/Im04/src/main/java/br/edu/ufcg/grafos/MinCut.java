@@ -0,0 +1,136 @@
+package br.edu.ufcg.grafos;
+
+import java.util.Arrays;
+
+/**
+ * Corte mínimo (source, sink) extraído da rede residual de um fluxo máximo.
+ *
+ * Uma única BFS a partir da origem, só por arcos com capacidade residual,
+ * marca o lado da origem (S). As arestas originais que saem de S para fora
+ * dele estão saturadas e formam o corte; a soma das suas capacidades é igual
+ * ao fluxo máximo.
+ *
+ * O lado da origem é um bitset (bit v da palavra v / 64) e as arestas do
+ * corte ficam em arrays primitivos.
+ */
+public class MinCut {
+
+    private final long[] sourceSide;
+    private final int sourceSideSize;
+    private final int[] cutArcs;
+    private final int[] cutFrom;
+    private final int[] cutTo;
+    private final long value;
+
+    private MinCut(long[] sourceSide, int sourceSideSize, int[] cutArcs, int[] cutFrom, int[] cutTo, long value) {
+        this.sourceSide = sourceSide;
+        this.sourceSideSize = sourceSideSize;
+        this.cutArcs = cutArcs;
+        this.cutFrom = cutFrom;
+        this.cutTo = cutTo;
+        this.value = value;
+    }
+
+    /**
+     * Extrai o corte do fluxo atual do grafo, que deve ser máximo de source
+     * para algum destino (caso contrário o resultado não é um corte mínimo).
+     */
+    public static MinCut compute(DirectedGraph graph, int source) {
+        int n = graph.getNumVertices();
+        int[] offsets = graph.arcOffsets();
+        int[] arcs = graph.arcList();
+        int[] head = graph.head;
+        int[] cap = graph.cap;
+        int[] flow = graph.flow;
+
+        long[] side = new long[(n + 63) >>> 6];
+        int[] queue = new int[n];
+        int[] candidates = new int[16]; // Arcos saturados vistos a partir de S
+        int numCandidates = 0;
+
+        int queueHead = 0;
+        int queueTail = 0;
+        queue[queueTail++] = source;
+        side[source >>> 6] |= 1L << source;
+
+        while (queueHead < queueTail) {
+            int u = queue[queueHead++];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int e = arcs[i];
+                int v = head[e];
+                if (cap[e] - flow[e] > 0) {
+                    if ((side[v >>> 6] & (1L << v)) == 0) {
+                        side[v >>> 6] |= 1L << v;
+                        queue[queueTail++] = v;
+                    }
+                } else if ((e & 1) == 0 && cap[e] > 0) {
+                    if (numCandidates == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, numCandidates * 2);
+                    }
+                    candidates[numCandidates++] = e;
+                }
+            }
+        }
+
+        // Só os arcos saturados cujo destino ficou fora de S cruzam o corte
+        int numCut = 0;
+        long value = 0;
+        for (int i = 0; i < numCandidates; i++) {
+            int e = candidates[i];
+            int v = head[e];
+            if ((side[v >>> 6] & (1L << v)) == 0) {
+                candidates[numCut++] = e;
+                value += cap[e];
+            }
+        }
+
+        int[] cutArcs = Arrays.copyOf(candidates, numCut);
+        int[] cutFrom = new int[numCut];
+        int[] cutTo = new int[numCut];
+        for (int i = 0; i < numCut; i++) {
+            cutFrom[i] = head[cutArcs[i] ^ 1];
+            cutTo[i] = head[cutArcs[i]];
+        }
+        return new MinCut(side, queueTail, cutArcs, cutFrom, cutTo, value);
+    }
+
+    /** Soma das capacidades das arestas do corte (igual ao fluxo máximo). */
+    public long getValue() {
+        return value;
+    }
+
+    public boolean isOnSourceSide(int v) {
+        return (sourceSide[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /** Número de vértices do lado da origem. */
+    public int getSourceSideSize() {
+        return sourceSideSize;
+    }
+
+    /**
+     * Lado da origem como bitset, sem cópia. Não deve ser modificado.
+     */
+    public long[] getSourceSide() {
+        return sourceSide;
+    }
+
+    public int getNumCutEdges() {
+        return cutArcs.length;
+    }
+
+    /** Arcos do grafo que formam o corte, sem cópia. Não devem ser modificados. */
+    public int[] getCutArcs() {
+        return cutArcs;
+    }
+
+    /** Origem de cada aresta do corte, sem cópia. Não deve ser modificado. */
+    public int[] getCutFrom() {
+        return cutFrom;
+    }
+
+    /** Destino de cada aresta do corte, sem cópia. Não deve ser modificado. */
+    public int[] getCutTo() {
+        return cutTo;
+    }
+}
@@ -0,0 +1,223 @@
+package br.edu.ufcg.grafos;
+
+import java.util.Arrays;
+
+/**
+ * Fluxo máximo por push-relabel (FIFO) com as heurísticas de "global
+ * relabel" e "gap", no estilo do HIPR.
+ *
+ * - Global relabel: de tempos em tempos, as alturas são recalculadas como a
+ * distância exata até o destino no grafo residual (BFS reversa); vértices que
+ * não alcançam o destino recebem n + distância até a origem.
+ * - Gap: se nenhuma altura h < n tem vértices, todo vértice com altura entre
+ * h e n fica desconectado do destino e sobe direto para n + 1.
+ *
+ * O algoritmo roda até o fim (o excesso que não chega ao destino volta para a
+ * origem), então as arestas terminam com um fluxo válido, pronto para a
+ * extração dos caminhos.
+ */
+public class PushRelabelMaxFlow {
+
+    /**
+     * Zera os fluxos do grafo e calcula o fluxo máximo de source a sink.
+     * Os fluxos finais ficam registrados nas arestas do grafo.
+     */
+    public static int maxFlow(DirectedGraph graph, int source, int sink) {
+        return new PushRelabelMaxFlow(graph, source, sink).run();
+    }
+
+    private final int n;
+    private final int source;
+    private final int sink;
+    private final int[] offsets; // CSR dos arcos do grafo
+    private final int[] arcs;
+    private final int[] head;
+    private final int[] cap;
+    private final int[] flow;
+    private final int[] height;
+    private final int[] count; // Número de vértices em cada altura
+    private final long[] excess;
+    private final int[] current;
+    private final int[] queue; // Fila circular de vértices ativos
+    private final boolean[] inQueue;
+    private final int[] bfs; // Fila das BFS do global relabel
+    private int queueHead;
+    private int queueSize;
+    private long work; // Trabalho desde o último global relabel
+    private final long relabelInterval;
+
+    private PushRelabelMaxFlow(DirectedGraph graph, int source, int sink) {
+        this.n = graph.getNumVertices();
+        this.source = source;
+        this.sink = sink;
+        graph.resetFlow();
+        this.offsets = graph.arcOffsets();
+        this.arcs = graph.arcList();
+        this.head = graph.head;
+        this.cap = graph.cap;
+        this.flow = graph.flow;
+        this.height = new int[n];
+        this.count = new int[2 * n + 1];
+        this.excess = new long[n];
+        this.current = new int[n];
+        this.queue = new int[n];
+        this.inQueue = new boolean[n];
+        this.bfs = new int[n];
+        this.relabelInterval = 6L * n + graph.getNumArcs();
+    }
+
+    private int run() {
+        if (source == sink) {
+            return 0;
+        }
+
+        // Satura todos os arcos que saem da origem
+        for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+            int e = arcs[i];
+            int residual = cap[e] - flow[e];
+            if (residual > 0) {
+                push(e, residual);
+                excess[source] -= residual;
+                excess[head[e]] += residual;
+            }
+        }
+
+        globalRelabel();
+        for (int v = 0; v < n; v++) {
+            enqueueIfActive(v);
+        }
+
+        while (queueSize > 0) {
+            int u = queue[queueHead];
+            queueHead = (queueHead + 1) % n;
+            queueSize--;
+            inQueue[u] = false;
+
+            discharge(u);
+
+            if (work > relabelInterval) {
+                globalRelabel();
+            }
+        }
+
+        return (int) excess[sink];
+    }
+
+    private void enqueueIfActive(int v) {
+        if (v != source && v != sink && !inQueue[v] && excess[v] > 0 && height[v] < 2 * n) {
+            queue[(queueHead + queueSize) % n] = v;
+            queueSize++;
+            inQueue[v] = true;
+        }
+    }
+
+    private void push(int e, int amount) {
+        flow[e] += amount;
+        flow[e ^ 1] -= amount;
+    }
+
+    private void discharge(int u) {
+        int end = offsets[u + 1];
+        while (excess[u] > 0) {
+            if (current[u] == end) {
+                relabel(u);
+                if (height[u] >= 2 * n) {
+                    return;
+                }
+                continue;
+            }
+
+            int e = arcs[current[u]];
+            int v = head[e];
+            int residual = cap[e] - flow[e];
+            if (residual > 0 && height[u] == height[v] + 1) {
+                int delta = (int) Math.min(excess[u], residual);
+                push(e, delta);
+                excess[u] -= delta;
+                excess[v] += delta;
+                enqueueIfActive(v);
+            } else {
+                current[u]++;
+            }
+        }
+    }
+
+    private void relabel(int u) {
+        int oldHeight = height[u];
+        int newHeight = 2 * n;
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            int e = arcs[i];
+            if (cap[e] - flow[e] > 0) {
+                newHeight = Math.min(newHeight, height[head[e]] + 1);
+            }
+        }
+        work += offsets[u + 1] - offsets[u] + 12;
+
+        count[oldHeight]--;
+        height[u] = newHeight;
+        count[newHeight]++;
+        current[u] = offsets[u];
+
+        if (oldHeight < n && count[oldHeight] == 0) {
+            gap(oldHeight);
+        }
+    }
+
+    /**
+     * Nenhum vértice tem altura 'emptyHeight' (< n): quem está acima dela e
+     * abaixo de n não alcança mais o destino.
+     */
+    private void gap(int emptyHeight) {
+        for (int v = 0; v < n; v++) {
+            int h = height[v];
+            if (h > emptyHeight && h < n) {
+                count[h]--;
+                height[v] = n + 1;
+                count[n + 1]++;
+                current[v] = offsets[v];
+            }
+        }
+    }
+
+    /**
+     * Recalcula as alturas exatas com duas BFS reversas no grafo residual:
+     * primeiro a partir do destino e, para o restante, a partir da origem.
+     */
+    private void globalRelabel() {
+        work = 0;
+        Arrays.fill(height, 2 * n);
+        Arrays.fill(count, 0);
+        height[sink] = 0;
+        reverseBfs(sink);
+        height[source] = n;
+        reverseBfs(source);
+
+        for (int v = 0; v < n; v++) {
+            count[height[v]]++;
+            current[v] = offsets[v];
+        }
+    }
+
+    /**
+     * Atribui altura[root] + distância aos vértices ainda sem altura que
+     * alcançam 'root' por arestas residuais.
+     */
+    private void reverseBfs(int root) {
+        int first = 0;
+        int last = 0;
+        bfs[last++] = root;
+        while (first < last) {
+            int v = bfs[first++];
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                // e: v -> w; o arco residual w -> v é o reverso dele
+                int e = arcs[i];
+                int w = head[e];
+                int r = e ^ 1;
+                if (height[w] == 2 * n && w != source && cap[r] - flow[r] > 0) {
+                    height[w] = height[v] + 1;
+                    bfs[last++] = w;
+                }
+            }
+        }
+    }
+}
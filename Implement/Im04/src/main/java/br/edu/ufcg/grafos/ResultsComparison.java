@@ -0,0 +1,244 @@
+package br.edu.ufcg.grafos;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Compara dois arquivos gravados pelo {@link ResultsWriter} (CSV ou JSON
+ * lines, podendo misturar os formatos) e aponta regressões.
+ *
+ * Os casos são pareados por tipo de grafo e descrição. Um caso regrediu se a
+ * mediana do tempo aumentou mais que o limiar (relativo) e mais que
+ * {@link #MIN_DIFFERENCE_NANOS} (absoluto, para não acusar ruído em casos
+ * de microssegundos). Um número de caminhos diferente é uma divergência.
+ *
+ * Uso: ResultsComparison base novo [limiar%]
+ * Código de saída 1 se houver regressão ou divergência.
+ */
+public class ResultsComparison {
+
+    /** Limiar relativo padrão: 10%. */
+    public static final double DEFAULT_THRESHOLD = 0.10;
+
+    /** Diferença absoluta mínima para acusar regressão: 1 ms. */
+    public static final long MIN_DIFFERENCE_NANOS = 1_000_000;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: ResultsComparison base novo [limiar%]");
+            System.exit(2);
+        }
+        try {
+            double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : DEFAULT_THRESHOLD;
+            int problems = compare(args[0], args[1], threshold, System.out);
+            System.exit(problems > 0 ? 1 : 0);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Compara os dois arquivos e imprime um caso por linha.
+     *
+     * @param threshold aumento relativo tolerado (0.10 = 10%).
+     * @return número de regressões e divergências.
+     */
+    public static int compare(String baseFile, String newFile, double threshold, PrintStream out)
+            throws IOException {
+        Map<String, Map<String, String>> base = read(baseFile);
+        Map<String, Map<String, String>> current = read(newFile);
+
+        out.printf("%-50s | %12s | %12s | %8s | %s%n", "Caso", "Base (ms)", "Novo (ms)", "Variação", "Situação");
+        out.println("---------------------------------------------------|--------------|--------------|----------|----------");
+
+        int problems = 0;
+        for (Map.Entry<String, Map<String, String>> entry : current.entrySet()) {
+            Map<String, String> before = base.get(entry.getKey());
+            Map<String, String> after = entry.getValue();
+            if (before == null) {
+                out.printf("%-50s | %12s | %12.3f | %8s | novo%n", entry.getKey(), "-", median(after) / 1e6, "-");
+                continue;
+            }
+
+            long oldTime = median(before);
+            long newTime = median(after);
+            double change = oldTime > 0 ? (double) (newTime - oldTime) / oldTime : 0;
+            String status;
+            if (!before.get("numPaths").equals(after.get("numPaths"))) {
+                status = "DIVERGÊNCIA (" + before.get("numPaths") + " -> " + after.get("numPaths") + " caminhos)";
+                problems++;
+            } else if (newTime - oldTime > MIN_DIFFERENCE_NANOS && change > threshold) {
+                status = "REGRESSÃO";
+                problems++;
+            } else if (oldTime - newTime > MIN_DIFFERENCE_NANOS && -change > threshold) {
+                status = "melhora";
+            } else {
+                status = "ok";
+            }
+            out.printf("%-50s | %12.3f | %12.3f | %+7.1f%% | %s%n",
+                entry.getKey(), oldTime / 1e6, newTime / 1e6, change * 100, status);
+        }
+        for (String key : base.keySet()) {
+            if (!current.containsKey(key)) {
+                out.printf("%-50s | %12.3f | %12s | %8s | ausente%n", key, median(base.get(key)) / 1e6, "-", "-");
+            }
+        }
+
+        out.println();
+        out.println(problems == 0 ? "Nenhuma regressão." : problems + " regressão(ões) ou divergência(s).");
+        return problems;
+    }
+
+    /** Mediana em ns; arquivos sem repetições usam o tempo em ms. */
+    private static long median(Map<String, String> row) {
+        String median = row.get("medianNanos");
+        if (median != null && !median.isEmpty()) {
+            return Long.parseLong(median);
+        }
+        return Long.parseLong(row.get("executionTimeMs")) * 1_000_000;
+    }
+
+    /**
+     * Lê os resultados de um arquivo, indexados por "tipo: descrição".
+     */
+    static Map<String, Map<String, String>> read(String filename) throws IOException {
+        Map<String, Map<String, String>> rows = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+            String[] header = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                Map<String, String> row;
+                if (line.startsWith("{")) {
+                    try {
+                        row = parseJson(line);
+                    } catch (IndexOutOfBoundsException e) {
+                        throw new IllegalArgumentException("JSON incompleto em " + filename + ": " + line);
+                    }
+                    if (!"result".equals(row.get("record"))) {
+                        continue;
+                    }
+                } else if (header == null) {
+                    header = parseCsv(line).toArray(new String[0]);
+                    continue;
+                } else {
+                    List<String> values = parseCsv(line);
+                    row = new HashMap<>();
+                    for (int i = 0; i < header.length && i < values.size(); i++) {
+                        row.put(header[i], values.get(i));
+                    }
+                }
+                if (row.get("graphType") == null || row.get("numPaths") == null) {
+                    throw new IllegalArgumentException("Linha inválida em " + filename + ": " + line);
+                }
+                rows.put(row.get("graphType") + ": " + row.get("description"), row);
+            }
+        }
+        return rows;
+    }
+
+    private static List<String> parseCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Objeto JSON plano (sem objetos ou arrays aninhados), como os gravados
+     * pelo {@link ResultsWriter}. Os valores voltam como texto.
+     */
+    private static Map<String, String> parseJson(String line) {
+        Map<String, String> row = new HashMap<>();
+        int[] pos = {skipSpaces(line, 1)};
+        while (pos[0] < line.length() && line.charAt(pos[0]) != '}') {
+            String key = parseJsonString(line, pos);
+            pos[0] = skipSpaces(line, pos[0]);
+            expect(line, pos[0]++, ':');
+            pos[0] = skipSpaces(line, pos[0]);
+            String value;
+            if (line.charAt(pos[0]) == '"') {
+                value = parseJsonString(line, pos);
+            } else {
+                int start = pos[0];
+                while (pos[0] < line.length() && ",} ".indexOf(line.charAt(pos[0])) < 0) {
+                    pos[0]++;
+                }
+                value = line.substring(start, pos[0]);
+            }
+            row.put(key, value);
+            pos[0] = skipSpaces(line, pos[0]);
+            if (pos[0] < line.length() && line.charAt(pos[0]) == ',') {
+                pos[0] = skipSpaces(line, pos[0] + 1);
+            }
+        }
+        return row;
+    }
+
+    private static String parseJsonString(String line, int[] pos) {
+        expect(line, pos[0]++, '"');
+        StringBuilder sb = new StringBuilder();
+        while (line.charAt(pos[0]) != '"') {
+            char c = line.charAt(pos[0]++);
+            if (c == '\\') {
+                char escaped = line.charAt(pos[0]++);
+                switch (escaped) {
+                    case 'u':
+                        sb.append((char) Integer.parseInt(line.substring(pos[0], pos[0] + 4), 16));
+                        pos[0] += 4;
+                        break;
+                    case 'n': sb.append('\n'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    default: sb.append(escaped);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        pos[0]++;
+        return sb.toString();
+    }
+
+    private static int skipSpaces(String line, int pos) {
+        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static void expect(String line, int pos, char c) {
+        if (pos >= line.length() || line.charAt(pos) != c) {
+            throw new IllegalArgumentException("JSON inválido (esperado '" + c + "' na posição " + pos + "): " + line);
+        }
+    }
+}
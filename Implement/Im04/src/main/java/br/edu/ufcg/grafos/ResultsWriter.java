@@ -0,0 +1,167 @@
+package br.edu.ufcg.grafos;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Grava resultados de testes em CSV ou em JSON lines (um objeto por linha),
+ * um resultado por vez e sem guardá-los em memória, para comparar execuções
+ * ({@link ResultsComparison}).
+ *
+ * O arquivo começa com os dados do ambiente (JVM, sistema, núcleos, heap
+ * máximo): em CSV como linhas de comentário "# chave=valor" antes do
+ * cabeçalho, em JSON lines como um primeiro objeto com "record":"environment".
+ * Os tempos de cada caso saem em milissegundos e, em nanossegundos, o
+ * mínimo, a mediana, os percentis 95 e 99 e o máximo das repetições
+ * ({@link TimingStats}), além da mediana de cada fase da busca
+ * ({@link EdgeDisjointPaths.Phase}; -1 quando não medida).
+ */
+public class ResultsWriter implements Closeable {
+
+    public enum Format {
+        CSV, JSON_LINES;
+
+        /** Formato pela extensão: ".jsonl" ou ".json" para JSON lines, o resto CSV. */
+        public static Format fromFileName(String filename) {
+            String name = filename.toLowerCase(Locale.ROOT);
+            return name.endsWith(".jsonl") || name.endsWith(".json") ? JSON_LINES : CSV;
+        }
+    }
+
+    /** Colunas de cada resultado, na ordem gravada. */
+    static final String[] COLUMNS = {
+        "graphType", "size", "description", "numVertices", "numEdges", "numPaths",
+        "executionTimeMs", "trials", "minNanos", "medianNanos", "p95Nanos", "p99Nanos", "maxNanos",
+        "copyMedianNanos", "flowMedianNanos", "decompositionMedianNanos", "outputMedianNanos",
+        "allocatedBytes", "peakHeapBytes"
+    };
+
+    private final Writer out;
+    private final Format format;
+
+    public ResultsWriter(String filename) throws IOException {
+        this(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8)),
+            Format.fromFileName(filename));
+    }
+
+    /**
+     * @param out destino; é fechado por {@link #close()}.
+     */
+    public ResultsWriter(Writer out, Format format) throws IOException {
+        this.out = out;
+        this.format = format;
+        writeEnvironment();
+    }
+
+    /**
+     * Dados do ambiente de execução, gravados no início do arquivo.
+     */
+    public static Map<String, String> environment() {
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("timestamp", Instant.now().toString());
+        env.put("javaVersion", System.getProperty("java.version"));
+        env.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version"));
+        env.put("javaVendor", System.getProperty("java.vendor"));
+        env.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        env.put("arch", System.getProperty("os.arch"));
+        env.put("cores", String.valueOf(runtime.availableProcessors()));
+        env.put("maxHeapBytes", String.valueOf(runtime.maxMemory()));
+        return env;
+    }
+
+    private void writeEnvironment() throws IOException {
+        Map<String, String> env = environment();
+        if (format == Format.CSV) {
+            for (Map.Entry<String, String> entry : env.entrySet()) {
+                out.write("# " + entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+            out.write(String.join(",", COLUMNS) + "\n");
+        } else {
+            StringBuilder line = new StringBuilder("{\"record\":\"environment\"");
+            for (Map.Entry<String, String> entry : env.entrySet()) {
+                line.append(",\"").append(entry.getKey()).append("\":").append(jsonString(entry.getValue()));
+            }
+            out.write(line.append("}\n").toString());
+        }
+        out.flush();
+    }
+
+    /**
+     * Grava um resultado e descarrega o buffer, para que uma execução
+     * interrompida mantenha os casos já concluídos.
+     */
+    public void write(TestRunner.TestResult result) throws IOException {
+        TimingStats timings = result.getTimings();
+        Object[] values = {
+            result.getGraphType(), result.getSize(), result.getDescription(),
+            result.getNumVertices(), result.getNumEdges(), result.getNumPaths(),
+            result.getExecutionTime(), timings.getCount(), timings.getMin(), timings.getMedian(),
+            timings.getP95(), timings.getP99(), timings.getMax(),
+            phaseMedian(result, EdgeDisjointPaths.Phase.COPY), phaseMedian(result, EdgeDisjointPaths.Phase.FLOW),
+            phaseMedian(result, EdgeDisjointPaths.Phase.DECOMPOSITION),
+            phaseMedian(result, EdgeDisjointPaths.Phase.OUTPUT),
+            result.getAllocatedBytes(), result.getPeakHeapBytes()
+        };
+
+        StringBuilder line = new StringBuilder();
+        if (format == Format.CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(values[i] instanceof String ? csvString((String) values[i]) : values[i]);
+            }
+        } else {
+            line.append("{\"record\":\"result\"");
+            for (int i = 0; i < values.length; i++) {
+                line.append(",\"").append(COLUMNS[i]).append("\":");
+                line.append(values[i] instanceof String ? jsonString((String) values[i]) : values[i]);
+            }
+            line.append('}');
+        }
+        out.write(line.append('\n').toString());
+        out.flush();
+    }
+
+    /** Mediana da fase em ns, ou -1 se as fases não foram medidas. */
+    private static long phaseMedian(TestRunner.TestResult result, EdgeDisjointPaths.Phase phase) {
+        TimingStats timings = result.getPhaseTimings(phase);
+        return timings == null ? -1 : timings.getMedian();
+    }
+
+    public void writeAll(List<TestRunner.TestResult> results) throws IOException {
+        for (TestRunner.TestResult result : results) {
+            write(result);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static String csvString(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -1,33 +1,162 @@
 package br.edu.ufcg.grafos;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Classe principal para executar testes e gerar relatório.
+ *
+ * Os resultados são gravados em CSV (ou JSON lines, pela extensão) com
+ * "--saida arquivo"; o padrão é resultados_caminhos_disjuntos.csv. O
+ * relatório PDF só é gerado quando o projeto é compilado com o perfil
+ * "pdf" (mvn -Ppdf), que inclui o iText.
+ *
+ * Cada caso roda "--aquecimento N" vezes sem medir e "--repeticoes N"
+ * vezes medindo (padrão 10 e 20; na matriz de escala, 0 e 1).
+ *
+ * Com "--escala [maxExpoente] [threads]" executa a matriz de escala
+ * (10^3 a 10^maxExpoente arestas) em vez dos testes pequenos, e com
+ * "--comparar base novo [limiar%]" compara dois arquivos de resultados.
  */
 public class TestMain {
     
+    private static final String DEFAULT_OUTPUT = "resultados_caminhos_disjuntos.csv";
+    private static final String DEFAULT_SCALE_OUTPUT = "resultados_escala.csv";
+    private static final String REPORT_FILE = "relatorio_caminhos_disjuntos.pdf";
+    private static final String USAGE = "Uso: TestMain [--escala [maxExpoente] [threads]] [--saida arquivo]"
+        + " [--aquecimento N] [--repeticoes N]";
+    
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--comparar")) {
+            ResultsComparison.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        String output;
+        String warmup;
+        String trials;
+        try {
+            output = option(arguments, "--saida");
+            warmup = option(arguments, "--aquecimento");
+            trials = option(arguments, "--repeticoes");
+        } catch (IllegalArgumentException e) {
+            System.err.println(USAGE);
+            return;
+        }
+        args = arguments.toArray(new String[0]);
+        
+        if (args.length > 0 && args[0].equals("--escala")) {
+            runScaleTests(args, output != null ? output : DEFAULT_SCALE_OUTPUT,
+                warmup != null ? warmup : "0", trials != null ? trials : "1");
+            return;
+        }
+        
+        int warmupRuns;
+        int trialRuns;
+        try {
+            warmupRuns = warmup != null ? Integer.parseInt(warmup) : TestRunner.DEFAULT_WARMUP;
+            trialRuns = trials != null ? Integer.parseInt(trials) : TestRunner.DEFAULT_TRIALS;
+        } catch (NumberFormatException e) {
+            System.err.println(USAGE);
+            return;
+        }
+        
         System.out.println("Iniciando testes de caminhos disjuntos em arestas...");
         System.out.println("====================================================\n");
         
-        // Executar todos os testes
-        List<TestRunner.TestResult> results = TestRunner.runAllTests();
+        // Executar todos os testes, gravando cada caso ao terminar
+        String filename = output != null ? output : DEFAULT_OUTPUT;
+        List<TestRunner.TestResult> results;
+        try (ResultsWriter writer = new ResultsWriter(filename)) {
+            results = TestRunner.runAllTests(warmupRuns, trialRuns, writer);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao gravar resultados: " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            return;
+        }
         
         // Exibir resultados no console
         TestRunner.displayResults(results);
+        System.out.println("\nResultados gravados: " + filename);
         
-        // Gerar relatório PDF
+        generatePDFReport(results);
+        
+        System.out.println("\nTestes concluídos!");
+    }
+    
+    private static void runScaleTests(String[] args, String output, String warmup, String trials) {
+        int maxExponent;
+        int threads;
+        int warmupRuns;
+        int trialRuns;
         try {
-            String reportFile = "relatorio_caminhos_disjuntos.pdf";
-            ReportGenerator.generatePDFReport(results, reportFile);
-            System.out.println("\nRelatório PDF gerado: " + reportFile);
-        } catch (Exception e) {
-            System.err.println("Erro ao gerar relatório PDF: " + e.getMessage());
-            e.printStackTrace();
+            maxExponent = args.length > 1 ? Integer.parseInt(args[1]) : TestRunner.DEFAULT_MAX_EXPONENT;
+            threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            warmupRuns = Integer.parseInt(warmup);
+            trialRuns = Integer.parseInt(trials);
+        } catch (NumberFormatException e) {
+            System.err.println(USAGE);
+            return;
         }
         
-        System.out.println("\nTestes concluídos!");
+        System.out.println("Executando matriz de escala até 10^" + maxExponent + " arestas ("
+            + threads + " threads)...");
+        // Cada caso é gravado ao terminar: uma execução interrompida mantém os concluídos
+        List<TestRunner.TestResult> results;
+        try (ResultsWriter writer = new ResultsWriter(output)) {
+            results = TestRunner.runScaleTests(maxExponent, threads, warmupRuns, trialRuns, writer);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao gravar resultados: " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            return;
+        }
+        TestRunner.displayScaleResults(results);
+        System.out.println("\nResultados gravados: " + output);
+    }
+    
+    /**
+     * Gera o relatório PDF se o ReportGenerator (perfil "pdf") estiver no
+     * classpath. É carregado por reflexão para que o restante compile sem
+     * o iText.
+     */
+    private static void generatePDFReport(List<TestRunner.TestResult> results) {
+        try {
+            Class<?> generator = Class.forName("br.edu.ufcg.grafos.ReportGenerator");
+            generator.getMethod("generatePDFReport", List.class, String.class).invoke(null, results, REPORT_FILE);
+            System.out.println("Relatório PDF gerado: " + REPORT_FILE);
+        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+            System.out.println("Relatório PDF não gerado (compile com o perfil pdf: mvn -Ppdf compile)");
+        } catch (InvocationTargetException e) {
+            System.err.println("Erro ao gerar relatório PDF: " + e.getCause().getMessage());
+            e.getCause().printStackTrace();
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Erro ao gerar relatório PDF: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Remove "nome valor" dos argumentos e devolve o valor (null se a opção
+     * não foi passada).
+     */
+    private static String option(List<String> args, String name) {
+        int index = args.indexOf(name);
+        if (index < 0) {
+            return null;
+        }
+        if (index + 1 >= args.size()) {
+            throw new IllegalArgumentException("Valor ausente para " + name);
+        }
+        String value = args.get(index + 1);
+        args.subList(index, index + 2).clear();
+        return value;
     }
 }
-
@@ -1,7 +1,12 @@
 package br.edu.ufcg.grafos;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Classe para executar testes e coletar resultados.
@@ -16,9 +21,42 @@ public class TestRunner {
         private int numPaths;
         private long executionTime;
         private String description;
+        private long allocatedBytes;
+        private long peakHeapBytes;
+        private TimingStats timings;
+        private TimingStats[] phaseTimings;
         
         public TestResult(String graphType, int size, int numVertices, int numEdges, 
                          int numPaths, long executionTime, String description) {
+            this(graphType, size, numVertices, numEdges, numPaths, executionTime, description, -1, -1);
+        }
+        
+        public TestResult(String graphType, int size, int numVertices, int numEdges,
+                         int numPaths, long executionTime, String description,
+                         long allocatedBytes, long peakHeapBytes) {
+            this(graphType, size, numVertices, numEdges, numPaths, executionTime, description,
+                allocatedBytes, peakHeapBytes, null);
+        }
+        
+        /**
+         * @param timings tempos das repetições do caso, ou null se houve uma
+         *                única medição (executionTime).
+         */
+        public TestResult(String graphType, int size, int numVertices, int numEdges,
+                         int numPaths, long executionTime, String description,
+                         long allocatedBytes, long peakHeapBytes, TimingStats timings) {
+            this(graphType, size, numVertices, numEdges, numPaths, executionTime, description,
+                allocatedBytes, peakHeapBytes, timings, null);
+        }
+        
+        /**
+         * @param phaseTimings tempos de cada fase ({@link EdgeDisjointPaths.Phase}),
+         *                     ou null se as fases não foram medidas.
+         */
+        public TestResult(String graphType, int size, int numVertices, int numEdges,
+                         int numPaths, long executionTime, String description,
+                         long allocatedBytes, long peakHeapBytes, TimingStats timings,
+                         TimingStats[] phaseTimings) {
             this.graphType = graphType;
             this.size = size;
             this.numVertices = numVertices;
@@ -26,6 +64,10 @@ public class TestRunner {
             this.numPaths = numPaths;
             this.executionTime = executionTime;
             this.description = description;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+            this.timings = timings;
+            this.phaseTimings = phaseTimings;
         }
         
         public String getGraphType() { return graphType; }
@@ -35,12 +77,40 @@ public class TestRunner {
         public int getNumPaths() { return numPaths; }
         public long getExecutionTime() { return executionTime; }
         public String getDescription() { return description; }
+        /** Bytes alocados pela thread durante a busca, ou -1 se não medido. */
+        public long getAllocatedBytes() { return allocatedBytes; }
+        /** Pico de uso do heap durante o caso, ou -1 se não medido. */
+        public long getPeakHeapBytes() { return peakHeapBytes; }
+        /** Tempos das repetições; sem repetições, uma amostra com executionTime. */
+        public TimingStats getTimings() {
+            return timings != null ? timings : TimingStats.of(executionTime * 1_000_000);
+        }
+        /** Tempos da fase nas repetições, ou null se as fases não foram medidas. */
+        public TimingStats getPhaseTimings(EdgeDisjointPaths.Phase phase) {
+            return phaseTimings != null ? phaseTimings[phase.ordinal()] : null;
+        }
     }
     
     /**
      * Executa testes para grafos completos.
      */
     public static List<TestResult> testCompleteGraphs() {
+        return testCompleteGraphs(DEFAULT_WARMUP, DEFAULT_TRIALS);
+    }
+    
+    /**
+     * Executa testes para grafos completos, com 'warmup' execuções de aquecimento e
+     * 'trials' repetições medidas por caso.
+     */
+    public static List<TestResult> testCompleteGraphs(int warmup, int trials) {
+        return testCompleteGraphs(warmup, trials, null);
+    }
+    
+    /**
+     * Como {@link #testCompleteGraphs(int, int)}, gravando cada caso em 'writer'
+     * (se não for null) assim que termina.
+     */
+    public static List<TestResult> testCompleteGraphs(int warmup, int trials, ResultsWriter writer) {
         List<TestResult> results = new ArrayList<>();
         int[] sizes = {5, 10, 15, 20};
         
@@ -51,16 +121,16 @@ public class TestRunner {
             int source = 0;
             int destination = size - 1;
             
-            EdgeDisjointPaths.Result result = EdgeDisjointPaths.findEdgeDisjointPaths(graph, source, destination);
+            EdgeDisjointPaths.Result result = EdgeDisjointPaths.measure(
+                () -> EdgeDisjointPaths.findEdgeDisjointPaths(graph, source, destination), warmup, trials);
             
-            results.add(new TestResult(
+            record(results, writer, measuredResult(
                 "Grafo Completo",
                 size,
                 size,
                 numEdges,
-                result.getNumPaths(),
-                result.getExecutionTime(),
-                size + " vértices"
+                size + " vértices",
+                result
             ));
         }
         
@@ -71,6 +141,22 @@ public class TestRunner {
      * Executa testes para grafos em camadas.
      */
     public static List<TestResult> testLayeredGraphs() {
+        return testLayeredGraphs(DEFAULT_WARMUP, DEFAULT_TRIALS);
+    }
+    
+    /**
+     * Executa testes para grafos em camadas, com 'warmup' execuções de aquecimento e
+     * 'trials' repetições medidas por caso.
+     */
+    public static List<TestResult> testLayeredGraphs(int warmup, int trials) {
+        return testLayeredGraphs(warmup, trials, null);
+    }
+    
+    /**
+     * Como {@link #testLayeredGraphs(int, int)}, gravando cada caso em 'writer'
+     * (se não for null) assim que termina.
+     */
+    public static List<TestResult> testLayeredGraphs(int warmup, int trials, ResultsWriter writer) {
         List<TestResult> results = new ArrayList<>();
         int[] layers = {3, 4, 5, 6};
         int verticesPerLayer = 5;
@@ -83,16 +169,16 @@ public class TestRunner {
             int source = 0;
             int destination = numVertices - 1;
             
-            EdgeDisjointPaths.Result result = EdgeDisjointPaths.findEdgeDisjointPaths(graph, source, destination);
+            EdgeDisjointPaths.Result result = EdgeDisjointPaths.measure(
+                () -> EdgeDisjointPaths.findEdgeDisjointPaths(graph, source, destination), warmup, trials);
             
-            results.add(new TestResult(
+            record(results, writer, measuredResult(
                 "Grafo em Camadas",
                 numLayers * verticesPerLayer,
                 numVertices,
                 numEdges,
-                result.getNumPaths(),
-                result.getExecutionTime(),
-                numLayers + " camadas x " + verticesPerLayer + " vértices"
+                numLayers + " camadas x " + verticesPerLayer + " vértices",
+                result
             ));
         }
         
@@ -103,6 +189,22 @@ public class TestRunner {
      * Executa testes para grafos em grade.
      */
     public static List<TestResult> testGridGraphs() {
+        return testGridGraphs(DEFAULT_WARMUP, DEFAULT_TRIALS);
+    }
+    
+    /**
+     * Executa testes para grafos em grade, com 'warmup' execuções de aquecimento e
+     * 'trials' repetições medidas por caso.
+     */
+    public static List<TestResult> testGridGraphs(int warmup, int trials) {
+        return testGridGraphs(warmup, trials, null);
+    }
+    
+    /**
+     * Como {@link #testGridGraphs(int, int)}, gravando cada caso em 'writer'
+     * (se não for null) assim que termina.
+     */
+    public static List<TestResult> testGridGraphs(int warmup, int trials, ResultsWriter writer) {
         List<TestResult> results = new ArrayList<>();
         int[][] gridSizes = {{3, 3}, {4, 4}, {5, 5}, {6, 6}};
         
@@ -116,53 +218,351 @@ public class TestRunner {
             int source = 0;
             int destination = numVertices - 1;
             
-            EdgeDisjointPaths.Result result = EdgeDisjointPaths.findEdgeDisjointPaths(graph, source, destination);
+            EdgeDisjointPaths.Result result = EdgeDisjointPaths.measure(
+                () -> EdgeDisjointPaths.findEdgeDisjointPaths(graph, source, destination), warmup, trials);
             
-            results.add(new TestResult(
+            record(results, writer, measuredResult(
                 "Grafo em Grade",
                 numVertices,
                 numVertices,
                 numEdges,
-                result.getNumPaths(),
-                result.getExecutionTime(),
-                rows + "x" + cols + " grade"
+                rows + "x" + cols + " grade",
+                result
             ));
         }
         
         return results;
     }
     
+    /**
+     * Guarda o resultado e, se houver writer, grava-o na hora, para que uma
+     * execução interrompida mantenha os casos já concluídos.
+     */
+    private static void record(List<TestResult> results, ResultsWriter writer, TestResult result) {
+        results.add(result);
+        if (writer != null) {
+            try {
+                writer.write(result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    /**
+     * Resultado de um caso medido com {@link EdgeDisjointPaths#measure}: o
+     * tempo em ms é a mediana das repetições.
+     */
+    private static TestResult measuredResult(String graphType, int size, int numVertices, int numEdges,
+                                             String description, EdgeDisjointPaths.Result result) {
+        return measuredResult(graphType, size, numVertices, numEdges, description, result, -1);
+    }
+    
+    private static TestResult measuredResult(String graphType, int size, int numVertices, int numEdges,
+                                             String description, EdgeDisjointPaths.Result result,
+                                             long allocatedBytes) {
+        EdgeDisjointPaths.Phase[] phases = EdgeDisjointPaths.Phase.values();
+        TimingStats[] phaseTimings = new TimingStats[phases.length];
+        for (EdgeDisjointPaths.Phase phase : phases) {
+            phaseTimings[phase.ordinal()] = result.getPhaseTimings(phase);
+        }
+        TimingStats timings = result.getTimings();
+        return new TestResult(graphType, size, numVertices, numEdges, result.getNumPaths(),
+            timings.getMedian() / 1_000_000, description, allocatedBytes, -1, timings, phaseTimings);
+    }
+    
     /**
      * Conta o número de arestas no grafo.
      */
     private static int countEdges(DirectedGraph graph) {
         int count = 0;
-        for (int i = 0; i < graph.getNumVertices(); i++) {
-            for (Edge edge : graph.getEdges(i)) {
-                if (edge.getCapacity() > 0 && edge.getReverse() != null && 
-                    edge.getReverse().getCapacity() == 0) {
-                    count++;
-                }
+        for (int e = 0; e < graph.getNumArcs(); e += 2) {
+            if (graph.getCapacity(e) > 0) {
+                count++;
             }
         }
         return count;
     }
     
+    /** Execuções de aquecimento por caso nos testes pequenos. */
+    public static final int DEFAULT_WARMUP = 10;
+    
+    /** Repetições medidas por caso nos testes pequenos. */
+    public static final int DEFAULT_TRIALS = 20;
+    
     /**
      * Executa todos os testes.
      */
     public static List<TestResult> runAllTests() {
+        return runAllTests(DEFAULT_WARMUP, DEFAULT_TRIALS);
+    }
+    
+    /**
+     * Executa todos os testes com 'warmup' execuções de aquecimento e
+     * 'trials' repetições medidas por caso.
+     */
+    public static List<TestResult> runAllTests(int warmup, int trials) {
+        return runAllTests(warmup, trials, null);
+    }
+    
+    /**
+     * Executa todos os testes, gravando cada caso em 'writer' (se não for
+     * null) assim que termina.
+     */
+    public static List<TestResult> runAllTests(int warmup, int trials, ResultsWriter writer) {
         List<TestResult> allResults = new ArrayList<>();
         
         System.out.println("Executando testes para Grafos Completos...");
-        allResults.addAll(testCompleteGraphs());
+        allResults.addAll(testCompleteGraphs(warmup, trials, writer));
         
         System.out.println("Executando testes para Grafos em Camadas...");
-        allResults.addAll(testLayeredGraphs());
+        allResults.addAll(testLayeredGraphs(warmup, trials, writer));
+        
+        System.out.println("Executando testes para Grafos em Grade...");
+        allResults.addAll(testGridGraphs(warmup, trials, writer));
         
         return allResults;
     }
     
+    /** Maior expoente padrão da matriz de escala (10^6 arestas). */
+    public static final int DEFAULT_MAX_EXPONENT = 6;
+    
+    /** Maior expoente aceito pela matriz de escala (10^7 arestas). */
+    public static final int MAX_EXPONENT = 7;
+    
+    /** Casos acima deste número de arestas rodam sozinhos. */
+    private static final long SOLO_THRESHOLD = 1_000_000;
+    
+    /**
+     * Geradores da matriz de escala. Cada um escolhe as dimensões para
+     * chegar perto de um número de arestas alvo.
+     */
+    private enum ScaleGraph {
+        RANDOM("Grafo Aleatório") {
+            @Override
+            DirectedGraph generate(long targetEdges, long seed) {
+                // Grau médio de saída 5
+                int n = (int) Math.max(targetEdges / 5, 2);
+                return GraphGenerator.generateRandomGraph(n, Math.min(targetEdges, (long) n * (n - 1)), seed);
+            }
+            
+            @Override
+            String describe(DirectedGraph graph) {
+                return graph.getNumVertices() + " vértices, grau médio 5";
+            }
+        },
+        GRID("Grafo em Grade") {
+            @Override
+            DirectedGraph generate(long targetEdges, long seed) {
+                int side = (int) Math.max(Math.round(Math.sqrt(targetEdges / 2.0)), 2);
+                return GraphGenerator.generateGridGraph(side, side);
+            }
+            
+            @Override
+            String describe(DirectedGraph graph) {
+                int side = (int) Math.round(Math.sqrt(graph.getNumVertices()));
+                return side + "x" + side + " grade";
+            }
+        },
+        LAYERED("Grafo em Camadas") {
+            @Override
+            DirectedGraph generate(long targetEdges, long seed) {
+                int width = (int) Math.max(Math.round(Math.sqrt(targetEdges / 9.0)), 1);
+                return GraphGenerator.generateLayeredGraph(10, width);
+            }
+            
+            @Override
+            String describe(DirectedGraph graph) {
+                return "10 camadas x " + graph.getNumVertices() / 10 + " vértices";
+            }
+        },
+        POWER_LAW("Grafo Lei de Potência") {
+            @Override
+            DirectedGraph generate(long targetEdges, long seed) {
+                int n = (int) Math.max(targetEdges / 5, 6);
+                return GraphGenerator.generatePowerLawGraph(n, 5, seed);
+            }
+            
+            @Override
+            String describe(DirectedGraph graph) {
+                return graph.getNumVertices() + " vértices, 5 arestas por vértice novo";
+            }
+        };
+        
+        private final String displayName;
+        
+        ScaleGraph(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        abstract DirectedGraph generate(long targetEdges, long seed);
+        
+        abstract String describe(DirectedGraph graph);
+    }
+    
+    /**
+     * Matriz de escala com a quantidade padrão de threads (um por núcleo).
+     */
+    public static List<TestResult> runScaleTests(int maxExponent) {
+        return runScaleTests(maxExponent, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Executa a matriz de escala: grafos aleatórios, em grade, em camadas e
+     * em lei de potência com 10^3, 10^4, ..., 10^maxExponent arestas, com
+     * caminhos disjuntos calculados por Dinic entre o primeiro e o último
+     * vértice (0 e 1 no grafo em lei de potência, os de maior grau).
+     *
+     * Os casos até {@link #SOLO_THRESHOLD} arestas rodam em paralelo em
+     * 'threads' threads; os maiores rodam depois, um de cada vez, para que o
+     * pico do heap seja o do caso e não falte memória. Nos casos paralelos o
+     * pico é o do heap inteiro desde o início da fase paralela até o fim do
+     * caso.
+     *
+     * Cada caso registra vértices, arestas, caminhos, tempo de cada fase da
+     * busca, bytes alocados pela thread na busca e pico do heap. Por padrão
+     * cada caso roda uma vez, sem aquecimento.
+     */
+    public static List<TestResult> runScaleTests(int maxExponent, int threads) {
+        return runScaleTests(maxExponent, threads, 0, 1);
+    }
+    
+    /**
+     * Matriz de escala com 'warmup' execuções de aquecimento e 'trials'
+     * repetições medidas por caso; a memória alocada é a média por execução.
+     */
+    public static List<TestResult> runScaleTests(int maxExponent, int threads, int warmup, int trials) {
+        return runScaleTests(maxExponent, threads, warmup, trials, null);
+    }
+    
+    /**
+     * Matriz de escala que grava cada caso em 'writer' (se não for null)
+     * assim que termina, na ordem de conclusão; a lista devolvida fica
+     * ordenada por tipo e arestas.
+     */
+    public static List<TestResult> runScaleTests(int maxExponent, int threads, int warmup, int trials,
+                                                 ResultsWriter writer) {
+        if (maxExponent < 3 || maxExponent > MAX_EXPONENT) {
+            throw new IllegalArgumentException("Expoente fora de [3, " + MAX_EXPONENT + "]: " + maxExponent);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads inválido: " + threads);
+        }
+        
+        List<Callable<TestResult>> parallel = new ArrayList<>();
+        List<Callable<TestResult>> solo = new ArrayList<>();
+        for (ScaleGraph type : ScaleGraph.values()) {
+            long targetEdges = 1;
+            for (int exponent = 1; exponent <= maxExponent; exponent++) {
+                targetEdges *= 10;
+                if (exponent < 3) {
+                    continue;
+                }
+                long edges = targetEdges;
+                long seed = 31L * exponent + type.ordinal(); // Reprodutível e independente da ordem
+                Callable<TestResult> task = () -> runScaleCase(type, edges, seed, warmup, trials);
+                (edges > SOLO_THRESHOLD ? solo : parallel).add(task);
+            }
+        }
+        
+        List<TestResult> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            resetPeakHeap();
+            CompletionService<TestResult> completion = new ExecutorCompletionService<>(executor);
+            for (Callable<TestResult> task : parallel) {
+                completion.submit(task);
+            }
+            for (int i = 0; i < parallel.size(); i++) {
+                TestResult result = completion.take().get();
+                record(results, writer, withPeakHeap(result, peakHeap()));
+            }
+            
+            for (Callable<TestResult> task : solo) {
+                System.gc(); // Libera o caso anterior antes de medir o pico
+                resetPeakHeap();
+                TestResult result = executor.submit(task).get();
+                record(results, writer, withPeakHeap(result, peakHeap()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Testes de escala interrompidos", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha em um caso de escala", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        results.sort(Comparator.comparing(TestResult::getGraphType).thenComparingInt(TestResult::getNumEdges));
+        return results;
+    }
+    
+    private static TestResult runScaleCase(ScaleGraph type, long targetEdges, long seed, int warmup, int trials) {
+        DirectedGraph graph = type.generate(targetEdges, seed);
+        int numVertices = graph.getNumVertices();
+        int source = 0;
+        int destination = type == ScaleGraph.POWER_LAW ? 1 : numVertices - 1;
+        
+        long allocatedBefore = allocatedBytes();
+        EdgeDisjointPaths.Result result = EdgeDisjointPaths.measure(
+            () -> EdgeDisjointPaths.findEdgeDisjointPaths(graph, source, destination, MaxFlowAlgorithm.DINIC),
+            warmup, trials);
+        long allocatedAfter = allocatedBytes();
+        
+        // Média por execução (aquecimento incluso)
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1
+            : (allocatedAfter - allocatedBefore) / (warmup + trials);
+        return measuredResult(
+            type.displayName,
+            (int) targetEdges,
+            numVertices,
+            graph.getNumEdges(),
+            type.describe(graph),
+            result,
+            allocated
+        );
+    }
+    
+    private static TestResult withPeakHeap(TestResult r, long peakHeapBytes) {
+        return new TestResult(r.getGraphType(), r.getSize(), r.getNumVertices(), r.getNumEdges(),
+            r.getNumPaths(), r.getExecutionTime(), r.getDescription(), r.getAllocatedBytes(), peakHeapBytes,
+            r.timings, r.phaseTimings);
+    }
+    
+    /**
+     * Bytes alocados até agora pela thread atual, ou -1 se a JVM não
+     * oferecer a medição.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+    
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+    
+    /** Soma dos picos dos pools de heap desde o último reset. */
+    private static long peakHeap() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                total += pool.getPeakUsage().getUsed();
+            }
+        }
+        return total;
+    }
+    
     /**
      * Exibe resultados em formato de tabela.
      */
@@ -178,18 +578,69 @@ public class TestRunner {
         
         for (Map.Entry<String, List<TestResult>> entry : grouped.entrySet()) {
             System.out.println("\n" + entry.getKey() + ":");
-            System.out.println("Tamanho | Vértices | Arestas | Caminhos | Tempo (ms)");
-            System.out.println("--------|----------|---------|----------|-----------");
+            System.out.println("Tamanho | Vértices | Arestas | Caminhos | Mín (ms) | Mediana (ms) | p95 (ms) |"
+                + " Cópia (µs) | Fluxo (µs) | Decomp. (µs) | Saída (µs)");
+            System.out.println("--------|----------|---------|----------|----------|--------------|----------|"
+                + "------------|------------|--------------|-----------");
             
             for (TestResult result : entry.getValue()) {
-                System.out.printf("%7d | %8d | %7d | %8d | %10d%n",
+                TimingStats timings = result.getTimings();
+                System.out.printf("%7d | %8d | %7d | %8d | %8.3f | %12.3f | %8.3f | %10s | %10s | %12s | %10s%n",
                     result.getSize(),
                     result.getNumVertices(),
                     result.getNumEdges(),
                     result.getNumPaths(),
-                    result.getExecutionTime());
+                    timings.getMin() / 1e6,
+                    timings.getMedian() / 1e6,
+                    timings.getP95() / 1e6,
+                    phaseMicros(result, EdgeDisjointPaths.Phase.COPY),
+                    phaseMicros(result, EdgeDisjointPaths.Phase.FLOW),
+                    phaseMicros(result, EdgeDisjointPaths.Phase.DECOMPOSITION),
+                    phaseMicros(result, EdgeDisjointPaths.Phase.OUTPUT));
             }
         }
     }
+    
+    /** Mediana da fase em µs, ou "-" se as fases não foram medidas. */
+    private static String phaseMicros(TestResult result, EdgeDisjointPaths.Phase phase) {
+        TimingStats timings = result.getPhaseTimings(phase);
+        return timings == null ? "-" : String.format("%.1f", timings.getMedian() / 1e3);
+    }
+    
+    /**
+     * Exibe os resultados da matriz de escala, com memória em MB.
+     */
+    public static void displayScaleResults(List<TestResult> results) {
+        System.out.println("\n========================================");
+        System.out.println("RESULTADOS DOS TESTES DE ESCALA");
+        System.out.println("========================================");
+        
+        Map<String, List<TestResult>> grouped = new LinkedHashMap<>();
+        for (TestResult result : results) {
+            grouped.computeIfAbsent(result.getGraphType(), k -> new ArrayList<>()).add(result);
+        }
+        
+        for (Map.Entry<String, List<TestResult>> entry : grouped.entrySet()) {
+            System.out.println("\n" + entry.getKey() + ":");
+            System.out.println("    Alvo |  Vértices |   Arestas | Caminhos | Tempo (ms) | Fluxo (ms) | Alocado (MB) | Pico heap (MB)");
+            System.out.println("---------|-----------|-----------|----------|------------|------------|--------------|---------------");
+            
+            for (TestResult result : entry.getValue()) {
+                TimingStats flow = result.getPhaseTimings(EdgeDisjointPaths.Phase.FLOW);
+                System.out.printf("%8d | %9d | %9d | %8d | %10.3f | %10s | %12s | %14s%n",
+                    result.getSize(),
+                    result.getNumVertices(),
+                    result.getNumEdges(),
+                    result.getNumPaths(),
+                    result.getTimings().getMedian() / 1e6,
+                    flow == null ? "-" : String.format("%.3f", flow.getMedian() / 1e6),
+                    megabytes(result.getAllocatedBytes()),
+                    megabytes(result.getPeakHeapBytes()));
+            }
+        }
+    }
+    
+    private static String megabytes(long bytes) {
+        return bytes < 0 ? "-" : String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
 }
-
@@ -0,0 +1,79 @@
+package br.edu.ufcg.grafos;
+
+import java.util.Arrays;
+
+/**
+ * Resumo de uma série de medições de tempo, em nanossegundos: mínimo,
+ * mediana, percentis e máximo. Os percentis usam o método do posto mais
+ * próximo (o valor de uma das amostras, sem interpolação).
+ */
+public class TimingStats {
+
+    private final long[] sorted;
+    private final double mean;
+
+    private TimingStats(long[] sorted) {
+        this.sorted = sorted;
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        this.mean = (double) total / sorted.length;
+    }
+
+    /**
+     * @param samplesNanos tempos medidos (não é modificado).
+     * @throws IllegalArgumentException se não houver amostras.
+     */
+    public static TimingStats of(long... samplesNanos) {
+        if (samplesNanos.length == 0) {
+            throw new IllegalArgumentException("Nenhuma amostra de tempo");
+        }
+        long[] sorted = samplesNanos.clone();
+        Arrays.sort(sorted);
+        return new TimingStats(sorted);
+    }
+
+    public int getCount() {
+        return sorted.length;
+    }
+
+    public long getMin() {
+        return sorted[0];
+    }
+
+    public long getMax() {
+        return sorted[sorted.length - 1];
+    }
+
+    public long getMedian() {
+        return getPercentile(50);
+    }
+
+    public long getP95() {
+        return getPercentile(95);
+    }
+
+    public long getP99() {
+        return getPercentile(99);
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /** Menor amostra que cobre 'percentile' por cento das amostras. */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentil fora de [0, 100]: " + percentile);
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("min %.3f ms | mediana %.3f ms | p95 %.3f ms (%d amostras)",
+            getMin() / 1e6, getMedian() / 1e6, getP95() / 1e6, getCount());
+    }
+}
@@ -0,0 +1,209 @@
+package Implement.Im3;
+
+import java.util.Arrays;
+
+/**
+ * Representa um grafo direcionado e ponderado "congelado" no formato CSR
+ * (Compressed Sparse Row).
+ *
+ * As arestas que saem do vértice u ocupam as posições
+ * [offsets[u], offsets[u + 1]) dos arrays 'targets' e 'weights'. Assim, o
+ * relaxamento do Dijkstra vira uma varredura sequencial de dois int[] e cada
+ * aresta custa 8 bytes, em vez de um objeto Edge dentro de um ArrayList.
+ *
+ * Instâncias são imutáveis; use {@link Builder} para montá-las.
+ */
+public final class CsrGraph {
+    final int V; // Número de vértices
+    final int[] offsets; // Tamanho V + 1
+    final int[] targets; // Destino de cada aresta
+    final int[] weights; // Peso de cada aresta
+
+    private CsrGraph(int V, int[] offsets, int[] targets, int[] weights) {
+        this.V = V;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Converte um grafo em listas de adjacência para o formato CSR,
+     * preservando a ordem das arestas de cada vértice.
+     */
+    public static CsrGraph fromGraph(Graph graph) {
+        int E = 0;
+        for (int u = 0; u < graph.V; u++) {
+            E += graph.adj[u].size();
+        }
+
+        Builder builder = new Builder(graph.V, E);
+        for (int u = 0; u < graph.V; u++) {
+            for (Edge edge : graph.adj[u]) {
+                builder.addEdge(u, edge.to, edge.weight);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Grafo com todas as arestas invertidas (v -> u para cada u -> v).
+     */
+    public CsrGraph reverse() {
+        return reverse(null);
+    }
+
+    /**
+     * Inverte o grafo; se 'originalEdge' não for null (tamanho E), recebe
+     * para cada aresta do grafo invertido a posição da aresta original.
+     */
+    CsrGraph reverse(int[] originalEdge) {
+        int E = targets.length;
+        int[] revOffsets = new int[V + 1];
+        for (int e = 0; e < E; e++) {
+            revOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < V; v++) {
+            revOffsets[v + 1] += revOffsets[v];
+        }
+
+        int[] revTargets = new int[E];
+        int[] revWeights = new int[E];
+        int[] next = Arrays.copyOf(revOffsets, V);
+        for (int u = 0; u < V; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int pos = next[targets[e]]++;
+                revTargets[pos] = u;
+                revWeights[pos] = weights[e];
+                if (originalEdge != null) {
+                    originalEdge[pos] = e;
+                }
+            }
+        }
+        return new CsrGraph(V, revOffsets, revTargets, revWeights);
+    }
+
+    public int getV() {
+        return V;
+    }
+
+    public int getE() {
+        return targets.length;
+    }
+
+    /** Primeira posição (inclusiva) das arestas de u. */
+    public int start(int u) {
+        return offsets[u];
+    }
+
+    /** Última posição (exclusiva) das arestas de u. */
+    public int end(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(int e) {
+        return targets[e];
+    }
+
+    public int weight(int e) {
+        return weights[e];
+    }
+
+    /**
+     * Arrays internos, sem cópia, para laços que precisam de acesso direto.
+     * Não devem ser modificados.
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Construtor mutável de um CsrGraph. As arestas são acumuladas em arrays
+     * primitivos e distribuídas por vértice (counting sort estável) em
+     * {@link #build()}.
+     */
+    public static final class Builder {
+        private final int V;
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int size;
+
+        public Builder(int V) {
+            this(V, 16);
+        }
+
+        /**
+         * @param V             Número de vértices.
+         * @param expectedEdges Estimativa do número de arestas (evita realocações).
+         */
+        public Builder(int V, int expectedEdges) {
+            if (V < 0) {
+                throw new IllegalArgumentException("Número de vértices negativo: " + V);
+            }
+            int capacity = Math.max(expectedEdges, 1);
+            this.V = V;
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weight = new int[capacity];
+        }
+
+        public int getV() {
+            return V;
+        }
+
+        /**
+         * Adiciona uma aresta direcionada.
+         *
+         * @return false se algum dos vértices estiver fora de [0, V-1] (a aresta
+         *         é descartada).
+         */
+        public boolean addEdge(int u, int v, int w) {
+            if (u < 0 || u >= V || v < 0 || v >= V) {
+                return false;
+            }
+            if (size == from.length) {
+                int newCapacity = Math.max(size + (size >> 1), size + 1);
+                from = Arrays.copyOf(from, newCapacity);
+                to = Arrays.copyOf(to, newCapacity);
+                weight = Arrays.copyOf(weight, newCapacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+            return true;
+        }
+
+        /**
+         * Congela as arestas adicionadas em um CsrGraph. As arestas de cada
+         * vértice mantêm a ordem de inserção.
+         */
+        public CsrGraph build() {
+            int[] offsets = new int[V + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[from[i] + 1]++;
+            }
+            for (int u = 0; u < V; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            int[] targets = new int[size];
+            int[] weights = new int[size];
+            int[] next = Arrays.copyOf(offsets, V);
+            for (int i = 0; i < size; i++) {
+                int pos = next[from[i]]++;
+                targets[pos] = to[i];
+                weights[pos] = weight[i];
+            }
+            return new CsrGraph(V, offsets, targets, weights);
+        }
+    }
+}
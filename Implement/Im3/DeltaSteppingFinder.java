@@ -0,0 +1,411 @@
+package Implement.Im3;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caminhos mínimos a partir de uma origem (para todos os vértices) usando
+ * Delta-Stepping paralelo.
+ *
+ * Os vértices são agrupados em "baldes" de largura delta pela distância
+ * provisória. As arestas leves (peso < delta) de um balde são relaxadas em
+ * rodadas até o balde esvaziar; depois as arestas pesadas dos vértices
+ * assentados são relaxadas uma única vez. Cada rodada é dividida em tarefas
+ * de um ForkJoinPool.
+ *
+ * Para manter o mesmo critério de desempate do {@link ShortestPathFinder}
+ * (menor peso e, em seguida, menor número de arestas), distância e número de
+ * arestas são empacotados em um único long (distância nos bits altos), de
+ * modo que um compareAndSet de "mínimo" resolve os dois critérios de uma vez.
+ */
+public class DeltaSteppingFinder {
+
+    private static final int EDGE_BITS = 24;
+    private static final long EDGE_MASK = (1L << EDGE_BITS) - 1;
+    private static final long MAX_DISTANCE = Long.MAX_VALUE >>> EDGE_BITS;
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    // Tamanho mínimo de um bloco da fronteira para valer a pena dividir a tarefa
+    private static final int GRAIN = 256;
+
+    private final int V;
+    private final long delta;
+    private final int maxWeight;
+    private final ForkJoinPool pool;
+
+    // Arestas reordenadas: em cada vértice, as leves vêm antes das pesadas
+    private final int[] offsets;
+    private final int[] lightEnd;
+    private final int[] targets;
+    private final int[] weights;
+
+    private final AtomicLongArray key; // (distância << EDGE_BITS) | arestas
+    private final long[] dist;
+    private final int[] numEdges;
+    private final int[] parent;
+
+    // Marcas para remover duplicatas das rodadas e do conjunto assentado
+    private final int[] roundMark;
+    private final int[] settledMark;
+    private int roundEpoch;
+    private int settledEpoch;
+
+    /**
+     * Usa o delta heurístico peso_máximo / grau_médio e o pool comum.
+     */
+    public DeltaSteppingFinder(CsrGraph graph) {
+        this(graph, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph Grafo com pesos não negativos.
+     * @param delta Largura dos baldes (>= 1). Valores pequenos aproximam o
+     *              Dijkstra; valores grandes, o Bellman-Ford.
+     * @param pool  Pool onde as rodadas de relaxamento são executadas.
+     */
+    public DeltaSteppingFinder(CsrGraph graph, long delta, ForkJoinPool pool) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("delta deve ser >= 1: " + delta);
+        }
+        if (graph.V > EDGE_MASK) {
+            throw new IllegalArgumentException("Grafo com vértices demais para o Delta-Stepping: " + graph.V);
+        }
+
+        int maxWeight = 0;
+        for (int w : graph.weights) {
+            if (w < 0) {
+                throw new IllegalArgumentException("Peso negativo não suportado: " + w);
+            }
+            maxWeight = Math.max(maxWeight, w);
+        }
+        if ((long) maxWeight * Math.max(graph.V - 1, 0) > MAX_DISTANCE) {
+            throw new IllegalArgumentException(
+                    "Distâncias podem exceder " + MAX_DISTANCE + "; use ShortestPathFinder");
+        }
+
+        this.V = graph.V;
+        this.delta = delta;
+        this.maxWeight = maxWeight;
+        this.pool = pool;
+
+        this.offsets = graph.offsets;
+        this.lightEnd = new int[V];
+        this.targets = new int[graph.targets.length];
+        this.weights = new int[graph.weights.length];
+        splitLightHeavy(graph);
+
+        this.key = new AtomicLongArray(V);
+        this.dist = new long[V];
+        this.numEdges = new int[V];
+        this.parent = new int[V];
+        this.roundMark = new int[V];
+        this.settledMark = new int[V];
+    }
+
+    /**
+     * Heurística usual: delta = peso_máximo / grau_médio (no mínimo 1).
+     */
+    public static long defaultDelta(CsrGraph graph) {
+        int maxWeight = 1;
+        for (int w : graph.weights) {
+            maxWeight = Math.max(maxWeight, w);
+        }
+        long avgDegree = Math.max(1, graph.getE() / Math.max(graph.V, 1));
+        return Math.max(1, maxWeight / avgDegree);
+    }
+
+    public long getDelta() {
+        return delta;
+    }
+
+    /**
+     * Copia as arestas de cada vértice colocando as leves (peso < delta)
+     * primeiro; lightEnd[u] marca onde começam as pesadas.
+     */
+    private void splitLightHeavy(CsrGraph graph) {
+        for (int u = 0; u < V; u++) {
+            int light = offsets[u];
+            int heavy = offsets[u + 1] - 1;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int pos = graph.weights[e] < delta ? light++ : heavy--;
+                targets[pos] = graph.targets[e];
+                weights[pos] = graph.weights[e];
+            }
+            lightEnd[u] = light;
+        }
+    }
+
+    /**
+     * Calcula distância, número de arestas e pai de todos os vértices a
+     * partir de 'source'. Os resultados ficam disponíveis em
+     * {@link #getDistance(int)}, {@link #getEdgeCount(int)} e
+     * {@link #getParent(int)}.
+     */
+    public void computeFrom(int source) {
+        for (int v = 0; v < V; v++) {
+            key.set(v, UNREACHED);
+        }
+        key.set(source, 0L);
+
+        int numBuckets = (int) Math.min(Integer.MAX_VALUE - 8, maxWeight / delta + 2);
+        IntList[] buckets = new IntList[numBuckets];
+        for (int i = 0; i < numBuckets; i++) {
+            buckets[i] = new IntList();
+        }
+        buckets[0].add(source);
+        long pending = 1;
+
+        IntList settled = new IntList();
+        long current = 0;
+
+        while (pending > 0) {
+            // Próximo balde não vazio (os baldes formam um anel)
+            while (buckets[(int) (current % numBuckets)].size == 0) {
+                current++;
+            }
+            IntList bucket = buckets[(int) (current % numBuckets)];
+            settled.size = 0;
+            settledEpoch++;
+
+            // Fase leve: rodadas até o balde atual esvaziar
+            while (bucket.size > 0) {
+                pending -= bucket.size;
+                int[] frontier = takeFrontier(bucket, current);
+                for (int v : frontier) {
+                    if (settledMark[v] != settledEpoch) {
+                        settledMark[v] = settledEpoch;
+                        settled.add(v);
+                    }
+                }
+                pending += insertAll(buckets, relax(frontier, frontier.length, true));
+            }
+
+            // Fase pesada: os vértices assentados já têm distância final
+            pending += insertAll(buckets, relax(settled.data, settled.size, false));
+            current++;
+        }
+
+        collectResults(source);
+    }
+
+    /**
+     * Esvazia o balde e devolve os vértices que ainda pertencem a ele, sem
+     * repetições (entradas antigas de vértices que melhoraram são ignoradas).
+     */
+    private int[] takeFrontier(IntList bucket, long bucketIndex) {
+        roundEpoch++;
+        int n = 0;
+        int[] data = bucket.data;
+        for (int i = 0; i < bucket.size; i++) {
+            int v = data[i];
+            if (roundMark[v] != roundEpoch && bucketOf(key.get(v)) == bucketIndex) {
+                roundMark[v] = roundEpoch;
+                data[n++] = v;
+            }
+        }
+        bucket.size = 0;
+        return Arrays.copyOf(data, n);
+    }
+
+    private long bucketOf(long packed) {
+        return (packed >>> EDGE_BITS) / delta;
+    }
+
+    private int insertAll(IntList[] buckets, IntList improved) {
+        int[] data = improved.data;
+        for (int i = 0; i < improved.size; i++) {
+            int v = data[i];
+            long b = bucketOf(key.get(v));
+            buckets[(int) (b % buckets.length)].add(v);
+        }
+        return improved.size;
+    }
+
+    /**
+     * Relaxa as arestas leves (ou pesadas) dos vértices em vertices[0, n) e
+     * devolve os vértices cuja chave melhorou (podem aparecer repetidos).
+     */
+    private IntList relax(int[] vertices, int n, boolean light) {
+        if (n <= GRAIN) {
+            IntList out = new IntList();
+            relaxRange(vertices, 0, n, light, out);
+            return out;
+        }
+        return pool.invoke(new RelaxTask(vertices, 0, n, light));
+    }
+
+    private void relaxRange(int[] vertices, int from, int to, boolean light, IntList out) {
+        for (int i = from; i < to; i++) {
+            int u = vertices[i];
+            long ku = key.get(u);
+            int begin = light ? offsets[u] : lightEnd[u];
+            int end = light ? lightEnd[u] : offsets[u + 1];
+
+            for (int e = begin; e < end; e++) {
+                int v = targets[e];
+                long candidate = ku + ((long) weights[e] << EDGE_BITS) + 1;
+                long kv = key.get(v);
+                while (candidate < kv) {
+                    if (key.compareAndSet(v, kv, candidate)) {
+                        out.add(v);
+                        break;
+                    }
+                    kv = key.get(v);
+                }
+            }
+        }
+    }
+
+    private final class RelaxTask extends RecursiveTask<IntList> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] vertices;
+        private final int from;
+        private final int to;
+        private final boolean light;
+
+        RelaxTask(int[] vertices, int from, int to, boolean light) {
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from <= GRAIN) {
+                IntList out = new IntList();
+                relaxRange(vertices, from, to, light, out);
+                return out;
+            }
+            int mid = (from + to) >>> 1;
+            RelaxTask left = new RelaxTask(vertices, from, mid, light);
+            left.fork();
+            IntList right = new RelaxTask(vertices, mid, to, light).compute();
+            IntList merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+
+    /**
+     * Desempacota as chaves e monta a árvore de caminhos mínimos: o pai de v é
+     * o menor u com chave[u] + (peso, 1) == chave[v].
+     */
+    private void collectResults(int source) {
+        AtomicIntegerArray bestParent = new AtomicIntegerArray(V);
+        for (int v = 0; v < V; v++) {
+            bestParent.set(v, Integer.MAX_VALUE);
+        }
+
+        pool.invoke(new ParentTask(bestParent, source, 0, V));
+
+        for (int v = 0; v < V; v++) {
+            long kv = key.get(v);
+            if (kv == UNREACHED) {
+                dist[v] = Long.MAX_VALUE;
+                numEdges[v] = Integer.MAX_VALUE;
+                parent[v] = -1;
+            } else {
+                dist[v] = kv >>> EDGE_BITS;
+                numEdges[v] = (int) (kv & EDGE_MASK);
+                int p = bestParent.get(v);
+                parent[v] = p == Integer.MAX_VALUE ? -1 : p;
+            }
+        }
+    }
+
+    private final class ParentTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicIntegerArray bestParent;
+        private final int source;
+        private final int from;
+        private final int to;
+
+        ParentTask(AtomicIntegerArray bestParent, int source, int from, int to) {
+            this.bestParent = bestParent;
+            this.source = source;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN * 16) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParentTask(bestParent, source, from, mid),
+                        new ParentTask(bestParent, source, mid, to));
+                return;
+            }
+            for (int u = from; u < to; u++) {
+                long ku = key.get(u);
+                if (ku == UNREACHED) {
+                    continue;
+                }
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (v != source && ku + ((long) weights[e] << EDGE_BITS) + 1 == key.get(v)) {
+                        bestParent.accumulateAndGet(v, u, Math::min);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Distância da última origem calculada até v (Long.MAX_VALUE se
+     * inalcançável).
+     */
+    public long getDistance(int v) {
+        return dist[v];
+    }
+
+    /** Número de arestas do caminho mínimo até v. */
+    public int getEdgeCount(int v) {
+        return numEdges[v];
+    }
+
+    /** Predecessor de v na árvore de caminhos mínimos (-1 se não houver). */
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * Mesmo contrato de {@link ShortestPathFinder#findShortestPath(int, int)}.
+     */
+    public PathResult findShortestPath(int source, int destination) {
+        computeFrom(source);
+        if (dist[destination] == Long.MAX_VALUE) {
+            return new PathResult();
+        }
+        return new PathResult(dist[destination], numEdges[destination], parent, source, destination);
+    }
+
+    /**
+     * Lista de inteiros crescente, sem boxing.
+     */
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size << 1);
+            }
+            data[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (size + other.size > data.length) {
+                data = Arrays.copyOf(data, Math.max(size + other.size, size << 1));
+            }
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package Implement.Im3;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Matriz de distâncias mínimas entre um conjunto de origens e um conjunto de
+ * destinos (modo "um-para-muitos" e "muitos-para-muitos").
+ *
+ * Cada origem executa uma única busca de caminho mínimo, que responde por
+ * todos os destinos de uma vez; as origens são distribuídas entre as threads
+ * de um ForkJoinPool, cada uma com o seu próprio {@link ShortestPathFinder}.
+ * Os resultados ficam em arrays primitivos, linha por origem.
+ *
+ * Pares sem caminho têm distância e número de arestas iguais a
+ * {@link #UNREACHABLE}.
+ */
+public final class DistanceMatrix {
+
+    public static final long UNREACHABLE = -1;
+
+    // "DMX1" em ASCII, no início do arquivo binário
+    private static final int MAGIC = 0x444D5831;
+
+    private final int[] sources;
+    private final int[] targets;
+    private final long[] distances; // sources.length x targets.length
+    private final int[] edgeCounts;
+
+    private DistanceMatrix(int[] sources, int[] targets) {
+        this.sources = sources.clone();
+        this.targets = targets.clone();
+        this.distances = new long[sources.length * targets.length];
+        this.edgeCounts = new int[sources.length * targets.length];
+    }
+
+    /**
+     * Distâncias de uma origem para vários destinos.
+     */
+    public static DistanceMatrix oneToMany(CsrGraph graph, int source, int[] targets) {
+        return compute(graph, new int[] { source }, targets, 1);
+    }
+
+    /**
+     * Distâncias de cada origem para cada destino.
+     *
+     * @param parallelism Número de threads (origens calculadas em paralelo).
+     */
+    public static DistanceMatrix compute(CsrGraph graph, int[] sources, int[] targets, int parallelism) {
+        if ((long) sources.length * targets.length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    "Matriz grande demais: " + sources.length + " x " + targets.length);
+        }
+        checkVertices(graph, sources);
+        checkVertices(graph, targets);
+
+        DistanceMatrix matrix = new DistanceMatrix(sources, targets);
+        if (parallelism <= 1 || sources.length <= 1) {
+            ShortestPathFinder finder = new ShortestPathFinder(graph);
+            for (int i = 0; i < sources.length; i++) {
+                matrix.fillRow(finder, i);
+            }
+            return matrix;
+        }
+
+        ThreadLocal<ShortestPathFinder> finders = ThreadLocal.withInitial(() -> new ShortestPathFinder(graph));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, sources.length).parallel()
+                    .forEach(i -> matrix.fillRow(finders.get(), i))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cálculo da matriz interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no cálculo da matriz", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return matrix;
+    }
+
+    private static void checkVertices(CsrGraph graph, int[] vertices) {
+        for (int v : vertices) {
+            if (v < 0 || v >= graph.V) {
+                throw new IllegalArgumentException("Vértice inválido: " + v);
+            }
+        }
+    }
+
+    private void fillRow(ShortestPathFinder finder, int row) {
+        finder.computeFrom(sources[row]);
+        int base = row * targets.length;
+        for (int j = 0; j < targets.length; j++) {
+            long d = finder.getDistance(targets[j]);
+            if (d == Long.MAX_VALUE) {
+                distances[base + j] = UNREACHABLE;
+                edgeCounts[base + j] = (int) UNREACHABLE;
+            } else {
+                distances[base + j] = d;
+                edgeCounts[base + j] = finder.getEdgeCount(targets[j]);
+            }
+        }
+    }
+
+    public int getRows() {
+        return sources.length;
+    }
+
+    public int getColumns() {
+        return targets.length;
+    }
+
+    public int[] getSources() {
+        return sources.clone();
+    }
+
+    public int[] getTargets() {
+        return targets.clone();
+    }
+
+    public long distance(int row, int column) {
+        return distances[row * targets.length + column];
+    }
+
+    public int edgeCount(int row, int column) {
+        return edgeCounts[row * targets.length + column];
+    }
+
+    /**
+     * Array interno (linha por origem), sem cópia. Não deve ser modificado.
+     */
+    public long[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * Array interno (linha por origem), sem cópia. Não deve ser modificado.
+     */
+    public int[] getEdgeCounts() {
+        return edgeCounts;
+    }
+
+    /**
+     * Grava a matriz em binário little-endian: MAGIC, linhas, colunas, as
+     * origens, os destinos, as distâncias (long) e os números de arestas (int).
+     */
+    public void writeBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(sources.length).putInt(targets.length);
+            for (int s : sources) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(s);
+            }
+            for (int t : targets) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(t);
+            }
+            for (long d : distances) {
+                ensure(channel, buffer, Long.BYTES);
+                buffer.putLong(d);
+            }
+            for (int e : edgeCounts) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(e);
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Escreve a matriz de distâncias como CSV, uma linha por origem. A primeira
+     * linha traz os destinos.
+     */
+    public void writeCsv(Writer out) throws IOException {
+        StringBuilder line = new StringBuilder("origem");
+        for (int t : targets) {
+            line.append(',').append(t);
+        }
+        out.write(line.append('\n').toString());
+
+        for (int i = 0; i < sources.length; i++) {
+            line.setLength(0);
+            line.append(sources[i]);
+            int base = i * targets.length;
+            for (int j = 0; j < targets.length; j++) {
+                line.append(',').append(distances[base + j]);
+            }
+            out.write(line.append('\n').toString());
+        }
+        out.flush();
+    }
+
+    /**
+     * args: arquivo_do_grafo layout(im3|im03) arquivo_de_vertices|all saida(.bin|.csv) [threads]
+     *
+     * O arquivo de vértices contém os IDs selecionados separados por espaços
+     * ou quebras de linha; "all" usa todos os vértices como origem e destino.
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.out.println("Uso: java DistanceMatrix <grafo> <im3|im03> <vertices|all> <saida.bin|saida.csv> [threads]");
+            return;
+        }
+
+        try {
+            EdgeListLoader.Layout layout = args[1].equalsIgnoreCase("im03")
+                    ? EdgeListLoader.Layout.SOURCE_FIRST
+                    : EdgeListLoader.Layout.SOURCE_LAST;
+            CsrGraph graph = EdgeListLoader.load(Paths.get(args[0]), layout).graph;
+            int[] selected = args[2].equalsIgnoreCase("all")
+                    ? IntStream.range(0, graph.V).toArray()
+                    : readVertices(Paths.get(args[2]));
+            int threads = args.length > 4 ? Integer.parseInt(args[4])
+                    : Runtime.getRuntime().availableProcessors();
+
+            long startTime = System.nanoTime();
+            DistanceMatrix matrix = compute(graph, selected, selected, threads);
+            long durationMs = (System.nanoTime() - startTime) / 1_000_000;
+
+            Path output = Paths.get(args[3]);
+            if (args[3].toLowerCase().endsWith(".csv")) {
+                try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                    matrix.writeCsv(writer);
+                }
+            } else {
+                matrix.writeBinary(output);
+            }
+
+            System.out.println("Matriz " + selected.length + " x " + selected.length + " gravada em " + output);
+            System.out.println("Tempo de execução: " + durationMs + " ms (" + threads + " threads)");
+        } catch (Exception e) {
+            System.out.println("Erro ao calcular a matriz: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static int[] readVertices(Path path) throws IOException {
+        List<Integer> vertices = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            for (String token : line.trim().split("\\s+")) {
+                if (!token.isEmpty()) {
+                    vertices.add(Integer.parseInt(token));
+                }
+            }
+        }
+        return vertices.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
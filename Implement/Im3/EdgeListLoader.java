@@ -0,0 +1,235 @@
+package Implement.Im3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Leitor rápido dos arquivos de grafo ponderado usados em Im3 e Im03.
+ *
+ * Em vez de Scanner.nextInt (baseado em expressões regulares), o arquivo é
+ * lido em blocos por um FileChannel e os inteiros são decodificados byte a
+ * byte direto para o {@link CsrGraph.Builder}. Erros de formato informam a
+ * linha e o deslocamento (em bytes) do token problemático.
+ */
+public final class EdgeListLoader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Disposição das linhas no arquivo.
+     */
+    public enum Layout {
+        /** Im03: "V E", "origem destino" e depois as E linhas "u v w". */
+        SOURCE_FIRST,
+        /** Im3: "V E", as E linhas "u v w" e por fim "origem destino". */
+        SOURCE_LAST
+    }
+
+    /**
+     * Grafo carregado, junto com a consulta (origem, destino) do arquivo.
+     */
+    public static final class LoadedGraph {
+        public final CsrGraph graph;
+        public final int source;
+        public final int destination;
+        public final int declaredEdges; // E informado no cabeçalho
+
+        LoadedGraph(CsrGraph graph, int source, int destination, int declaredEdges) {
+            this.graph = graph;
+            this.source = source;
+            this.destination = destination;
+            this.declaredEdges = declaredEdges;
+        }
+    }
+
+    /**
+     * Erro de formato com a posição do token que o causou.
+     */
+    public static final class FormatException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final long line;
+        private final long offset;
+
+        FormatException(String message, long line, long offset) {
+            super("Linha " + line + " (byte " + offset + "): " + message);
+            this.line = line;
+            this.offset = offset;
+        }
+
+        /** Linha do erro, começando em 1. */
+        public long getLine() {
+            return line;
+        }
+
+        /** Deslocamento em bytes, a partir do início do arquivo. */
+        public long getOffset() {
+            return offset;
+        }
+    }
+
+    private EdgeListLoader() {
+    }
+
+    /**
+     * Lê o arquivo no layout indicado.
+     *
+     * No layout SOURCE_FIRST o comportamento de ShortestPathTask é mantido:
+     * arestas com peso não positivo ou com extremidades fora de [0, V-1] são
+     * descartadas e um arquivo que termina antes das E arestas é aceito. No
+     * layout SOURCE_LAST uma extremidade fora do intervalo é erro de formato.
+     *
+     * @throws FormatException se o conteúdo não seguir o layout.
+     */
+    public static LoadedGraph load(Path path, Layout layout) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Tokenizer in = new Tokenizer(channel);
+
+            int V = in.nextInt("V");
+            if (V <= 0) {
+                throw in.error("o número de vértices (V) deve ser positivo");
+            }
+            int E = in.nextInt("E");
+            if (E < 0) {
+                throw in.error("o número de arestas (E) não pode ser negativo");
+            }
+
+            int source = -1;
+            int destination = -1;
+            if (layout == Layout.SOURCE_FIRST) {
+                source = in.nextVertex("origem", V);
+                destination = in.nextVertex("destino", V);
+            }
+
+            CsrGraph.Builder builder = new CsrGraph.Builder(V, E);
+            for (int i = 0; i < E; i++) {
+                if (layout == Layout.SOURCE_FIRST && !in.hasNext()) {
+                    break; // Evita erro se o arquivo terminar
+                }
+                if (layout == Layout.SOURCE_FIRST) {
+                    int u = in.nextInt("u");
+                    int v = in.nextInt("v");
+                    int w = in.nextInt("w");
+                    if (w > 0) {
+                        builder.addEdge(u, v, w); // Descarta (false) se u ou v for inválido
+                    }
+                } else {
+                    builder.addEdge(in.nextVertex("u", V), in.nextVertex("v", V), in.nextInt("w"));
+                }
+            }
+
+            if (layout == Layout.SOURCE_LAST) {
+                source = in.nextVertex("origem", V);
+                destination = in.nextVertex("destino", V);
+            }
+
+            return new LoadedGraph(builder.build(), source, destination, E);
+        }
+    }
+
+    /**
+     * Decodificador de inteiros separados por espaço em branco.
+     */
+    private static final class Tokenizer {
+        private final FileChannel channel;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private final ByteBuffer wrapper = ByteBuffer.wrap(buf);
+        private int pos;
+        private int limit;
+        private long bufferStart; // Deslocamento do início de 'buf' no arquivo
+        private long line = 1;
+        private long tokenLine;
+        private long tokenOffset;
+
+        Tokenizer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private boolean fill() throws IOException {
+            bufferStart += limit;
+            pos = 0;
+            limit = 0;
+            wrapper.clear();
+            int n = channel.read(wrapper);
+            if (n <= 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        }
+
+        /** Pula espaços; retorna false no fim do arquivo. */
+        boolean hasNext() throws IOException {
+            while (true) {
+                if (pos == limit && !fill()) {
+                    tokenLine = line;
+                    tokenOffset = bufferStart;
+                    return false;
+                }
+                byte c = buf[pos];
+                if (c == '\n') {
+                    line++;
+                } else if (c != ' ' && c != '\t' && c != '\r') {
+                    tokenLine = line;
+                    tokenOffset = bufferStart + pos;
+                    return true;
+                }
+                pos++;
+            }
+        }
+
+        int nextInt(String what) throws IOException {
+            if (!hasNext()) {
+                throw error("fim de arquivo inesperado ao ler '" + what + "'");
+            }
+
+            boolean negative = false;
+            if (buf[pos] == '-') {
+                negative = true;
+                pos++;
+            }
+
+            long value = 0;
+            int digits = 0;
+            while (pos < limit || fill()) {
+                byte c = buf[pos];
+                if (c >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    if (value > (long) Integer.MAX_VALUE + 1) {
+                        throw error("inteiro fora do intervalo ao ler '" + what + "'");
+                    }
+                    digits++;
+                    pos++;
+                } else if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                    break;
+                } else {
+                    throw error("caractere inválido '" + (char) c + "' ao ler '" + what + "'");
+                }
+            }
+
+            if (digits == 0) {
+                throw error("esperado um inteiro em '" + what + "'");
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw error("inteiro fora do intervalo ao ler '" + what + "'");
+            }
+            return (int) value;
+        }
+
+        int nextVertex(String what, int V) throws IOException {
+            int v = nextInt(what);
+            if (v < 0 || v >= V) {
+                throw error("vértice " + v + " fora do intervalo [0, " + (V - 1) + "] em '" + what + "'");
+            }
+            return v;
+        }
+
+        FormatException error(String message) {
+            return new FormatException(message, tokenLine, tokenOffset);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package Implement.Im3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Encontra os k caminhos simples (sem repetir vértices) mais curtos entre
+ * dois vértices, pelo algoritmo de Yen, usando o mesmo critério do
+ * {@link ShortestPathFinder}: menor peso e, em caso de empate, menor número
+ * de arestas.
+ *
+ * Otimizações em relação a repetir o Dijkstra do zero:
+ * - Uma árvore de caminhos mínimos até o destino (Dijkstra no grafo
+ * invertido) é calculada uma vez por consulta. Se o caminho da árvore a
+ * partir do vértice de desvio não usa nada bloqueado, ele já é o desvio
+ * ótimo e nenhuma busca é feita.
+ * - Vértices e arestas bloqueados são máscaras (boolean[] e bitset) sobre o
+ * mesmo CsrGraph; nada é copiado ou removido do grafo.
+ * - Os desvios de uma iteração são independentes e rodam em paralelo, cada
+ * thread com o seu próprio espaço de trabalho.
+ */
+public class KShortestPaths {
+
+    private final CsrGraph graph;
+    private final CsrGraph reverse;
+    private final int[] forwardEdge; // Aresta do grafo invertido -> aresta original
+    private final ForkJoinPool pool;
+
+    public KShortestPaths(CsrGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public KShortestPaths(CsrGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.forwardEdge = new int[graph.getE()];
+        this.reverse = graph.reverse(forwardEdge);
+        this.pool = pool;
+    }
+
+    /**
+     * Os até k melhores caminhos simples de 'source' a 'destination', em
+     * ordem crescente de (peso, número de arestas).
+     */
+    public List<PathResult> findKShortestPaths(int source, int destination, int k) {
+        return findKShortestPaths(source, destination, k, null, null);
+    }
+
+    /**
+     * Igual a {@link #findKShortestPaths(int, int, int)}, ignorando vértices
+     * e arestas bloqueados. As máscaras seguem o formato de
+     * {@link ShortestPathFinder#findShortestPath(int, int, boolean[], long[])}
+     * e não são modificadas.
+     */
+    public List<PathResult> findKShortestPaths(int source, int destination, int k,
+            boolean[] blockedVertices, long[] blockedEdges) {
+        if (source < 0 || source >= graph.V || destination < 0 || destination >= graph.V) {
+            throw new IllegalArgumentException("Vértice inválido: " + source + " ou " + destination);
+        }
+        List<PathResult> results = new ArrayList<>();
+        if (k <= 0 || (blockedVertices != null && (blockedVertices[source] || blockedVertices[destination]))) {
+            return results;
+        }
+
+        Query query = new Query(destination, blockedVertices, blockedEdges);
+        Path first = query.treePath(source);
+        if (first == null) {
+            return results;
+        }
+
+        List<Path> accepted = new ArrayList<>();
+        accepted.add(first);
+        PriorityQueue<Path> candidates = new PriorityQueue<>();
+        Set<Path> seen = new HashSet<>();
+        seen.add(first);
+
+        while (accepted.size() < k) {
+            Path last = accepted.get(accepted.size() - 1);
+            for (Path candidate : query.spurPaths(last, accepted)) {
+                if (candidate != null && seen.add(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            accepted.add(candidates.poll());
+        }
+
+        for (Path path : accepted) {
+            results.add(path.toResult());
+        }
+        return results;
+    }
+
+    /**
+     * Estado de uma consulta: a árvore até o destino e os espaços de trabalho
+     * reutilizados pelas threads.
+     */
+    private final class Query {
+        final int destination;
+        final boolean[] userVertices;
+        final long[] userEdges;
+
+        // Árvore de caminhos mínimos até o destino
+        final long[] distToDest;
+        final int[] next; // Próximo vértice rumo ao destino
+        final int[] nextEdge; // Aresta (posição CSR original) até next[v]
+
+        final ConcurrentLinkedQueue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+
+        Query(int destination, boolean[] blockedVertices, long[] blockedEdges) {
+            this.destination = destination;
+            this.userVertices = blockedVertices;
+            this.userEdges = blockedEdges;
+
+            // As arestas bloqueadas precisam ser traduzidas para as posições do grafo invertido
+            long[] reverseMask = null;
+            if (blockedEdges != null) {
+                reverseMask = new long[(reverse.getE() >>> 6) + 1];
+                for (int r = 0; r < forwardEdge.length; r++) {
+                    int e = forwardEdge[r];
+                    if ((blockedEdges[e >>> 6] & (1L << e)) != 0) {
+                        reverseMask[r >>> 6] |= 1L << r;
+                    }
+                }
+            }
+
+            ShortestPathFinder tree = new ShortestPathFinder(reverse);
+            tree.computeFrom(destination, blockedVertices, reverseMask);
+
+            int V = graph.V;
+            distToDest = new long[V];
+            next = new int[V];
+            nextEdge = new int[V];
+            for (int v = 0; v < V; v++) {
+                distToDest[v] = tree.getDistance(v);
+                next[v] = tree.getParent(v);
+                int r = tree.getParentEdge(v);
+                nextEdge[v] = r < 0 ? -1 : forwardEdge[r];
+            }
+        }
+
+        /** Caminho da árvore de v até o destino, ou null se não houver. */
+        Path treePath(int v) {
+            return treePath(v, null);
+        }
+
+        /**
+         * Caminho da árvore de v até o destino, ou null se ele não existir ou
+         * passar por algo bloqueado em 'ws'.
+         */
+        Path treePath(int v, Workspace ws) {
+            if (distToDest[v] == Long.MAX_VALUE) {
+                return null;
+            }
+            int length = 0;
+            for (int u = v; u != destination; u = next[u]) {
+                if (ws != null && (ws.isEdgeBlocked(nextEdge[u]) || ws.blockedVertices[next[u]])) {
+                    return null;
+                }
+                length++;
+            }
+
+            int[] vertices = new int[length + 1];
+            int[] edges = new int[length];
+            int u = v;
+            for (int i = 0; i < length; i++) {
+                vertices[i] = u;
+                edges[i] = nextEdge[u];
+                u = next[u];
+            }
+            vertices[length] = destination;
+            return new Path(vertices, edges, distToDest[v]);
+        }
+
+        /**
+         * Desvios do caminho 'last' (um por vértice de desvio), calculados em
+         * paralelo. Posições sem desvio possível ficam null.
+         */
+        Path[] spurPaths(Path last, List<Path> accepted) {
+            int spurs = last.vertices.length - 1;
+            if (spurs <= 1) {
+                return new Path[] { spurPath(last, 0, accepted) };
+            }
+            try {
+                return pool.submit(() -> IntStream.range(0, spurs).parallel()
+                        .mapToObj(i -> spurPath(last, i, accepted))
+                        .toArray(Path[]::new)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Busca de desvios interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha na busca de desvios", e.getCause());
+            }
+        }
+
+        /**
+         * Melhor caminho que segue 'last' até o vértice de índice i e dali
+         * diverge de todos os caminhos aceitos com a mesma raiz.
+         */
+        private Path spurPath(Path last, int i, List<Path> accepted) {
+            Workspace ws = workspaces.poll();
+            if (ws == null) {
+                ws = new Workspace(userVertices, userEdges);
+            }
+            try {
+                int spur = last.vertices[i];
+                for (int j = 0; j < i; j++) {
+                    ws.blockVertex(last.vertices[j]);
+                }
+                for (Path path : accepted) {
+                    if (path.vertices.length > i + 1 && path.sharesRoot(last, i)) {
+                        ws.blockArcs(spur, path.vertices[i + 1]);
+                    }
+                }
+
+                Path spurPath = treePath(spur, ws);
+                if (spurPath == null) {
+                    spurPath = ws.search(spur, destination);
+                }
+                return spurPath == null ? null : last.root(i).concat(spurPath);
+            } finally {
+                ws.restore();
+                workspaces.add(ws);
+            }
+        }
+    }
+
+    /**
+     * Finder e máscaras de uma thread. Os bloqueios de cada desvio são
+     * registrados e desfeitos em {@link #restore()}, preservando as máscaras
+     * do usuário.
+     */
+    private final class Workspace {
+        final ShortestPathFinder finder = new ShortestPathFinder(graph);
+        final boolean[] blockedVertices;
+        final long[] blockedEdges;
+
+        private int[] touchedVertices = new int[16];
+        private int touchedVertexCount;
+        private int[] touchedEdges = new int[16];
+        private int touchedEdgeCount;
+
+        Workspace(boolean[] userVertices, long[] userEdges) {
+            blockedVertices = userVertices != null ? userVertices.clone() : new boolean[graph.V];
+            blockedEdges = userEdges != null
+                    ? Arrays.copyOf(userEdges, (graph.getE() >>> 6) + 1)
+                    : new long[(graph.getE() >>> 6) + 1];
+        }
+
+        boolean isEdgeBlocked(int e) {
+            return (blockedEdges[e >>> 6] & (1L << e)) != 0;
+        }
+
+        void blockVertex(int v) {
+            if (!blockedVertices[v]) {
+                blockedVertices[v] = true;
+                if (touchedVertexCount == touchedVertices.length) {
+                    touchedVertices = Arrays.copyOf(touchedVertices, touchedVertexCount << 1);
+                }
+                touchedVertices[touchedVertexCount++] = v;
+            }
+        }
+
+        /** Bloqueia todas as arestas paralelas u -> v. */
+        void blockArcs(int u, int v) {
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                if (graph.targets[e] == v && !isEdgeBlocked(e)) {
+                    blockedEdges[e >>> 6] |= 1L << e;
+                    if (touchedEdgeCount == touchedEdges.length) {
+                        touchedEdges = Arrays.copyOf(touchedEdges, touchedEdgeCount << 1);
+                    }
+                    touchedEdges[touchedEdgeCount++] = e;
+                }
+            }
+        }
+
+        void restore() {
+            for (int i = 0; i < touchedVertexCount; i++) {
+                blockedVertices[touchedVertices[i]] = false;
+            }
+            for (int i = 0; i < touchedEdgeCount; i++) {
+                int e = touchedEdges[i];
+                blockedEdges[e >>> 6] &= ~(1L << e);
+            }
+            touchedVertexCount = 0;
+            touchedEdgeCount = 0;
+        }
+
+        /** Dijkstra com as máscaras atuais; null se não houver caminho. */
+        Path search(int source, int destination) {
+            PathResult result = finder.findShortestPath(source, destination, blockedVertices, blockedEdges);
+            if (!result.found) {
+                return null;
+            }
+            int length = result.edgeCount;
+            int[] vertices = new int[length + 1];
+            int[] edges = new int[length];
+            int v = destination;
+            for (int i = length; i > 0; i--) {
+                vertices[i] = v;
+                edges[i - 1] = finder.getParentEdge(v);
+                v = finder.getParent(v);
+            }
+            vertices[0] = source;
+            return new Path(vertices, edges, result.distance);
+        }
+    }
+
+    /**
+     * Caminho como arrays de vértices e de arestas (posições CSR). Ordenado
+     * por peso, número de arestas e, por fim, sequência de vértices; dois
+     * caminhos são iguais se visitam os mesmos vértices na mesma ordem.
+     */
+    private final class Path implements Comparable<Path> {
+        final int[] vertices;
+        final int[] edges;
+        final long cost;
+        private final int hash;
+
+        Path(int[] vertices, int[] edges, long cost) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.cost = cost;
+            this.hash = Arrays.hashCode(vertices);
+        }
+
+        /** true se os vértices 0..i coincidem com os de 'other'. */
+        boolean sharesRoot(Path other, int i) {
+            return Arrays.equals(vertices, 0, i + 1, other.vertices, 0, i + 1);
+        }
+
+        /** Prefixo com os vértices 0..i. */
+        Path root(int i) {
+            long rootCost = 0;
+            for (int j = 0; j < i; j++) {
+                rootCost += graph.weights[edges[j]];
+            }
+            return new Path(Arrays.copyOf(vertices, i + 1), Arrays.copyOf(edges, i), rootCost);
+        }
+
+        /** Este caminho seguido de 'tail', que começa no último vértice deste. */
+        Path concat(Path tail) {
+            int[] v = Arrays.copyOf(vertices, vertices.length + tail.vertices.length - 1);
+            System.arraycopy(tail.vertices, 1, v, vertices.length, tail.vertices.length - 1);
+            int[] e = Arrays.copyOf(edges, edges.length + tail.edges.length);
+            System.arraycopy(tail.edges, 0, e, edges.length, tail.edges.length);
+            return new Path(v, e, cost + tail.cost);
+        }
+
+        PathResult toResult() {
+            List<Integer> list = new ArrayList<>(vertices.length);
+            for (int v : vertices) {
+                list.add(v);
+            }
+            return new PathResult(cost, edges.length, list);
+        }
+
+        @Override
+        public int compareTo(Path other) {
+            if (cost != other.cost) {
+                return Long.compare(cost, other.cost);
+            }
+            if (edges.length != other.edges.length) {
+                return Integer.compare(edges.length, other.edges.length);
+            }
+            return Arrays.compare(vertices, other.vertices);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Path && Arrays.equals(vertices, ((Path) o).vertices);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,40 +1,32 @@
 package Implement.Im3;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 
 /**
  * Classe principal para ler o grafo de um arquivo, executar o
  * algoritmo de caminho mínimo e imprimir o resultado.
- * O nome do arquivo é definido diretamente na variável 'filename'.
+ * O nome do arquivo é definido diretamente na variável 'filename'
+ * (ou passado como primeiro argumento).
  */
 public class Main {
 
     public static void main(String[] args) {
 
         String filename = "C:/Users/USER/Documents/GitHub/Grafos/Implement/Im3/denso_4.txt";
+        if (args.length > 0) {
+            filename = args[0];
+        }
 
         try {
-            File file = new File(filename);
-            Scanner sc = new Scanner(file);
-
-            // 1. Ler V e E
-            int V = sc.nextInt();
-            int E = sc.nextInt();
-            Graph graph = new Graph(V);
-
-            // 2. Ler as E arestas
-            for (int i = 0; i < E; i++) {
-                int from = sc.nextInt();
-                int to = sc.nextInt();
-                int weight = sc.nextInt(); // MUDANÇA: de sc.nextDouble() para sc.nextInt()
-                graph.addEdge(from, to, weight);
-            }
-
-            // 3. Ler origem e destino
-            int source = sc.nextInt();
-            int destination = sc.nextInt();
+            // 1-3. Ler V, E, as E arestas e a origem/destino (leitor NIO)
+            EdgeListLoader.LoadedGraph loaded = EdgeListLoader.load(Paths.get(filename),
+                    EdgeListLoader.Layout.SOURCE_LAST);
+            CsrGraph graph = loaded.graph;
+            int V = graph.getV();
+            int E = loaded.declaredEdges;
+            int source = loaded.source;
+            int destination = loaded.destination;
 
             System.out.println("Lendo grafo de: " + filename);
             System.out.println("Vértices: " + V + ", Arestas: " + E);
@@ -53,11 +45,11 @@ public class Main {
             result.printResult();
 
             System.out.println("Tempo de execução: " + durationMs + " ms");
-
-            sc.close();
-        } catch (FileNotFoundException e) {
+        } catch (NoSuchFileException e) {
             System.out.println("Erro: Arquivo não encontrado: " + filename);
             System.out.println("Verifique se o nome do arquivo na variável 'filename' está correto.");
+        } catch (EdgeListLoader.FormatException e) {
+            System.out.println("Erro de formato em " + filename + ": " + e.getMessage());
         } catch (Exception e) {
             System.out.println("Erro ao processar o arquivo: " + e.getMessage());
             e.printStackTrace();
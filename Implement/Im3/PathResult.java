@@ -30,6 +30,17 @@ public class PathResult {
         this.path = reconstructPath(parent, source, destination);
     }
 
+    /**
+     * Construtor para um caminho já reconstruído (lista de vértices da origem
+     * ao destino).
+     */
+    public PathResult(long distance, int edgeCount, List<Integer> path) {
+        this.distance = distance;
+        this.edgeCount = edgeCount;
+        this.found = true;
+        this.path = path;
+    }
+
     /**
      * Construtor para quando nenhum caminho é encontrado.
      */
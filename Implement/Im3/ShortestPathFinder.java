@@ -9,16 +9,26 @@ import java.util.PriorityQueue;
  */
 public class ShortestPathFinder {
 
-    private final Graph graph;
+    private final CsrGraph graph;
     private final long[] dist; // MUDANÇA: de double[] para long[]
     private final int[] numEdges;
     private final int[] parent;
+    private final int[] parentEdge; // Índice CSR da aresta parent[v] -> v
 
+    /**
+     * Converte o grafo para CSR uma única vez; as buscas percorrem apenas os
+     * arrays primitivos.
+     */
     public ShortestPathFinder(Graph graph) {
+        this(CsrGraph.fromGraph(graph));
+    }
+
+    public ShortestPathFinder(CsrGraph graph) {
         this.graph = graph;
         this.dist = new long[graph.V]; // MUDANÇA: array de long
         this.numEdges = new int[graph.V];
         this.parent = new int[graph.V];
+        this.parentEdge = new int[graph.V];
     }
 
     /**
@@ -29,10 +39,65 @@ public class ShortestPathFinder {
      * @return Um objeto PathResult com os detalhes do caminho.
      */
     public PathResult findShortestPath(int source, int destination) {
+        computeFrom(source);
+
+        // 4. Montar o resultado
+        // MUDANÇA: Verifica o "infinito" de long
+        if (dist[destination] == Long.MAX_VALUE) {
+            return new PathResult();
+        } else {
+            return new PathResult(dist[destination], numEdges[destination], parent, source, destination);
+        }
+    }
+
+    /**
+     * Executa o Dijkstra completo a partir de 'source'. Depois da chamada,
+     * {@link #getDistance(int)}, {@link #getEdgeCount(int)} e
+     * {@link #getParent(int)} respondem para qualquer destino sem nova busca.
+     *
+     * @param source O vértice de origem.
+     */
+    public void computeFrom(int source) {
+        run(source, -1, null, null);
+    }
+
+    /**
+     * Igual a {@link #computeFrom(int)}, ignorando os vértices e arestas
+     * bloqueados (mesmo formato de máscara de
+     * {@link #findShortestPath(int, int, boolean[], long[])}).
+     */
+    public void computeFrom(int source, boolean[] blockedVertices, long[] blockedEdges) {
+        run(source, -1, blockedVertices, blockedEdges);
+    }
+
+    /**
+     * Caminho mínimo ignorando vértices e arestas bloqueados, sem copiar o
+     * grafo. A busca para assim que o destino é extraído da fila.
+     *
+     * @param blockedVertices blockedVertices[v] == true exclui v (pode ser null).
+     * @param blockedEdges    Bitset indexado pela posição CSR da aresta: o bit
+     *                        e de blockedEdges[e >>> 6] exclui a aresta e
+     *                        (pode ser null).
+     */
+    public PathResult findShortestPath(int source, int destination, boolean[] blockedVertices,
+            long[] blockedEdges) {
+        run(source, destination, blockedVertices, blockedEdges);
+        if (dist[destination] == Long.MAX_VALUE) {
+            return new PathResult();
+        }
+        return new PathResult(dist[destination], numEdges[destination], parent, source, destination);
+    }
+
+    /**
+     * Dijkstra a partir de 'source'; com stopAt >= 0, termina quando esse
+     * vértice é extraído da fila.
+     */
+    private void run(int source, int stopAt, boolean[] blockedVertices, long[] blockedEdges) {
         // 1. Inicialização
         Arrays.fill(dist, Long.MAX_VALUE); // MUDANÇA: Valor "infinito" de long
         Arrays.fill(numEdges, Integer.MAX_VALUE);
         Arrays.fill(parent, -1);
+        Arrays.fill(parentEdge, -1);
 
         dist[source] = 0L; // MUDANÇA: 0 como long
         numEdges[source] = 0;
@@ -49,12 +114,21 @@ public class ShortestPathFinder {
                     (current.distance == dist[u] && current.edges > numEdges[u])) {
                 continue;
             }
+            if (u == stopAt) {
+                break;
+            }
 
-            // 3. Relaxamento dos vizinhos
-            for (Edge edge : graph.adj[u]) {
-                int v = edge.to;
+            // 3. Relaxamento dos vizinhos (varredura sequencial do CSR)
+            int[] targets = graph.targets;
+            int[] weights = graph.weights;
+            for (int e = graph.offsets[u], end = graph.offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                if ((blockedVertices != null && blockedVertices[v])
+                        || (blockedEdges != null && (blockedEdges[e >>> 6] & (1L << e)) != 0)) {
+                    continue;
+                }
                 // 'weight' agora é int, 'dist[u]' é long.
-                int weight = edge.weight;
+                int weight = weights[e];
 
                 long newDist = dist[u] + weight; // MUDANÇA: newDist é long
                 int newEdges = numEdges[u] + 1;
@@ -64,24 +138,40 @@ public class ShortestPathFinder {
                     dist[v] = newDist;
                     numEdges[v] = newEdges;
                     parent[v] = u;
+                    parentEdge[v] = e;
                     pq.add(new NodeState(v, newDist, newEdges));
                 }
                 // Caso 2: Encontramos um caminho com o *mesmo* peso (empate).
                 else if (newDist == dist[v] && newEdges < numEdges[v]) {
                     numEdges[v] = newEdges;
                     parent[v] = u;
+                    parentEdge[v] = e;
                     pq.add(new NodeState(v, newDist, newEdges));
                 }
             }
         }
+    }
 
-        // 4. Montar o resultado
-        // MUDANÇA: Verifica o "infinito" de long
-        if (dist[destination] == Long.MAX_VALUE) {
-            return new PathResult();
-        } else {
-            return new PathResult(dist[destination], numEdges[destination], parent, source, destination);
-        }
+    /**
+     * Distância da última origem calculada até v (Long.MAX_VALUE se
+     * inalcançável).
+     */
+    public long getDistance(int v) {
+        return dist[v];
+    }
+
+    /** Número de arestas do caminho mínimo até v. */
+    public int getEdgeCount(int v) {
+        return numEdges[v];
+    }
+
+    /** Predecessor de v na árvore de caminhos mínimos (-1 se não houver). */
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    /** Posição CSR da aresta que chega a v na árvore (-1 se não houver). */
+    public int getParentEdge(int v) {
+        return parentEdge[v];
     }
-    
 }
@@ -0,0 +1,350 @@
+package tps.tp02;
+
+import java.util.Arrays;
+
+/**
+ * Raio de um conjunto de centros mantido de forma incremental, para buscas
+ * que trocam um centro de cada vez.
+ *
+ * Para cada vértice, guarda o centro mais próximo e o segundo mais próximo
+ * (com as distâncias). Com eles:
+ * - adicionar um centro custa O(V) (uma linha da matriz);
+ * - avaliar a troca de um centro a por b, ou a remoção de a, custa O(V):
+ * quem tinha a como mais próximo passa para o segundo ou para b;
+ * - escolher o melhor centro a trocar por b custa O(V + k);
+ * - remover (ou trocar) de fato custa O(V), mais O(k) para cada vértice
+ * que tinha o centro removido como primeiro ou segundo mais próximo.
+ *
+ * Vértices sem centro alcançável ficam a distância INFINITO.
+ */
+public class AvaliadorIncremental {
+
+    private final MatrizDistancias distancias;
+    private final int V;
+
+    private final int[] centros; // centros atuais em centros[0..numCentros)
+    private final int[] posicao; // índice de v em centros, ou -1
+    private int numCentros;
+
+    private final int[] primeiro; // centro mais próximo de v (-1 sem centros)
+    private final int[] distPrimeiro;
+    private final int[] segundo; // segundo centro mais próximo de v (-1 se não houver)
+    private final int[] distSegundo;
+
+    private final int[] linha; // Linha da matriz do centro sendo processado
+    private int verticeDaLinha = -1; // vértice cuja linha está em linha
+    private final int[] perda; // vértices que cada centro deixa no raio (melhorTroca)
+
+    private static final int PROIBIDO = -1; // em perda: a troca aumentaria o raio
+
+    private long raio;
+    private int maisDistante;
+
+    /**
+     * Avaliador sem centros (raio INFINITO).
+     */
+    public AvaliadorIncremental(MatrizDistancias distancias) {
+        this.distancias = distancias;
+        this.V = distancias.getV();
+        this.centros = new int[V];
+        this.posicao = new int[V];
+        this.primeiro = new int[V];
+        this.distPrimeiro = new int[V];
+        this.segundo = new int[V];
+        this.distSegundo = new int[V];
+        this.linha = new int[V];
+        this.perda = new int[V];
+        Arrays.fill(posicao, -1);
+        Arrays.fill(primeiro, -1);
+        Arrays.fill(distPrimeiro, MatrizDistancias.INFINITO);
+        Arrays.fill(segundo, -1);
+        Arrays.fill(distSegundo, MatrizDistancias.INFINITO);
+        atualizarRaio();
+    }
+
+    /**
+     * Avaliador já com os centros dados.
+     */
+    public AvaliadorIncremental(MatrizDistancias distancias, int[] centros) {
+        this(distancias);
+        for (int c : centros) {
+            adicionar(c);
+        }
+    }
+
+    // --- Consultas ---
+
+    /** Maior distância de um vértice ao seu centro mais próximo. */
+    public long raio() {
+        return raio;
+    }
+
+    /**
+     * Vértice que define o raio (o de menor índice, em caso de empate), ou
+     * -1 se o grafo não tiver vértices.
+     */
+    public int verticeMaisDistante() {
+        return maisDistante;
+    }
+
+    public int getNumCentros() {
+        return numCentros;
+    }
+
+    /** Cópia dos centros atuais, em ordem crescente. */
+    public int[] getCentros() {
+        int[] copia = Arrays.copyOf(centros, numCentros);
+        Arrays.sort(copia);
+        return copia;
+    }
+
+    public boolean ehCentro(int v) {
+        return posicao[v] >= 0;
+    }
+
+    /** Centro mais próximo de v (-1 se não houver centros). */
+    public int centroMaisProximo(int v) {
+        return primeiro[v];
+    }
+
+    /** Distância de v ao centro mais próximo. */
+    public int distancia(int v) {
+        return distPrimeiro[v];
+    }
+
+    // --- Avaliação sem alterar os centros, em O(V) ---
+
+    /**
+     * Raio que os centros teriam com b adicionado.
+     */
+    public long avaliarAdicao(int b) {
+        exigirNaoCentro(b);
+        carregarLinha(b);
+        long r = 0;
+        for (int v = 0; v < V; v++) {
+            r = Math.max(r, Math.min(distPrimeiro[v], linha[v]));
+        }
+        return r;
+    }
+
+    /**
+     * Raio que os centros teriam sem a.
+     */
+    public long avaliarRemocao(int a) {
+        exigirCentro(a);
+        long r = 0;
+        for (int v = 0; v < V; v++) {
+            r = Math.max(r, primeiro[v] == a ? distSegundo[v] : distPrimeiro[v]);
+        }
+        return r;
+    }
+
+    /**
+     * Raio que os centros teriam trocando a por b.
+     */
+    public long avaliarTroca(int a, int b) {
+        return avaliarTroca(a, b, Long.MAX_VALUE);
+    }
+
+    /**
+     * Como {@link #avaliarTroca(int, int)}, mas para assim que o raio chega a
+     * limite (e devolve um valor >= limite): basta para descartar trocas que
+     * não melhoram a solução.
+     */
+    public long avaliarTroca(int a, int b, long limite) {
+        exigirCentro(a);
+        exigirNaoCentro(b);
+        carregarLinha(b);
+        long r = 0;
+        for (int v = 0; v < V; v++) {
+            int d = primeiro[v] == a ? distSegundo[v] : distPrimeiro[v];
+            if (linha[v] < d) {
+                d = linha[v];
+            }
+            if (d > r) {
+                r = d;
+                if (r >= limite) {
+                    return r;
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Melhor centro a trocar por b sem aumentar o raio atual: o que deixa
+     * menos vértices exatamente no raio. Custa O(V + k), pois a perda de
+     * cada centro sai de uma só passada pelos vértices: quem continua com o
+     * primeiro centro depois de b entrar passa, sem ele, para
+     * min(segundo, b).
+     *
+     * @param maximo Só interessam trocas com menos de maximo vértices no
+     *               raio (0 deles quer dizer que o raio cai).
+     * @return o centro, ou -1 se nenhuma troca atender a maximo.
+     */
+    public int melhorTroca(int b, int maximo) {
+        exigirNaoCentro(b);
+        if (numCentros == 0) {
+            return -1;
+        }
+        carregarLinha(b);
+        for (int i = 0; i < numCentros; i++) {
+            perda[centros[i]] = 0;
+        }
+
+        int noRaio = 0; // vértices no raio com qualquer troca
+        for (int v = 0; v < V; v++) {
+            int d = distPrimeiro[v];
+            if (linha[v] < d) {
+                continue; // b passa a ser o mais próximo
+            }
+            if (d >= raio) {
+                noRaio++;
+            }
+            int semPrimeiro = Math.min(distSegundo[v], linha[v]);
+            int a = primeiro[v];
+            if (semPrimeiro > raio) {
+                perda[a] = PROIBIDO;
+            } else if (semPrimeiro == raio && d < raio && perda[a] != PROIBIDO) {
+                perda[a]++;
+            }
+        }
+
+        int melhor = -1;
+        int melhorContagem = maximo;
+        for (int i = 0; i < numCentros; i++) {
+            int a = centros[i];
+            if (perda[a] != PROIBIDO && noRaio + perda[a] < melhorContagem) {
+                melhor = a;
+                melhorContagem = noRaio + perda[a];
+            }
+        }
+        return melhor;
+    }
+
+    /** Número de vértices a distância >= limite dos centros atuais. */
+    public int contar(long limite) {
+        int contagem = 0;
+        for (int v = 0; v < V; v++) {
+            if (distPrimeiro[v] >= limite) {
+                contagem++;
+            }
+        }
+        return contagem;
+    }
+
+    // --- Movimentos ---
+
+    /**
+     * Adiciona b aos centros, em O(V).
+     */
+    public void adicionar(int b) {
+        exigirNaoCentro(b);
+        posicao[b] = numCentros;
+        centros[numCentros++] = b;
+
+        carregarLinha(b);
+        for (int v = 0; v < V; v++) {
+            int d = linha[v];
+            if (d < distPrimeiro[v]) {
+                segundo[v] = primeiro[v];
+                distSegundo[v] = distPrimeiro[v];
+                primeiro[v] = b;
+                distPrimeiro[v] = d;
+            } else if (d < distSegundo[v]) {
+                segundo[v] = b;
+                distSegundo[v] = d;
+            }
+        }
+        atualizarRaio();
+    }
+
+    /**
+     * Remove a dos centros. Os vértices que tinham a como primeiro ou
+     * segundo mais próximo procuram um novo segundo entre os centros.
+     */
+    public void remover(int a) {
+        exigirCentro(a);
+        int p = posicao[a];
+        centros[p] = centros[--numCentros];
+        posicao[centros[p]] = p;
+        posicao[a] = -1;
+
+        for (int v = 0; v < V; v++) {
+            if (primeiro[v] == a) {
+                primeiro[v] = segundo[v];
+                distPrimeiro[v] = distSegundo[v];
+                recalcularSegundo(v);
+            } else if (segundo[v] == a) {
+                recalcularSegundo(v);
+            }
+        }
+        atualizarRaio();
+    }
+
+    /**
+     * Troca o centro a por b.
+     */
+    public void trocar(int a, int b) {
+        exigirCentro(a);
+        // Adiciona antes de remover: b costuma virar o novo segundo de quem
+        // perde a, e a busca pelo segundo fica mais rara
+        adicionar(b);
+        remover(a);
+    }
+
+    // --- Auxiliares ---
+
+    /**
+     * Copia a linha de b para linha, se ainda não estiver lá (avaliar várias
+     * trocas com o mesmo b lê a matriz uma vez só).
+     */
+    private void carregarLinha(int b) {
+        if (verticeDaLinha != b) {
+            distancias.copiarLinha(b, linha);
+            verticeDaLinha = b;
+        }
+    }
+
+    private void recalcularSegundo(int v) {
+        int melhor = -1;
+        int melhorDist = MatrizDistancias.INFINITO;
+        for (int i = 0; i < numCentros; i++) {
+            int c = centros[i];
+            if (c != primeiro[v]) {
+                int d = distancias.get(c, v);
+                if (d < melhorDist) {
+                    melhor = c;
+                    melhorDist = d;
+                }
+            }
+        }
+        segundo[v] = melhor;
+        distSegundo[v] = melhorDist;
+    }
+
+    private void atualizarRaio() {
+        long r = V == 0 ? 0 : -1;
+        int argmax = -1;
+        for (int v = 0; v < V; v++) {
+            if (distPrimeiro[v] > r) {
+                r = distPrimeiro[v];
+                argmax = v;
+            }
+        }
+        raio = r;
+        maisDistante = argmax;
+    }
+
+    private void exigirCentro(int v) {
+        if (posicao[v] < 0) {
+            throw new IllegalArgumentException("O vértice " + v + " não é centro");
+        }
+    }
+
+    private void exigirNaoCentro(int v) {
+        if (posicao[v] >= 0) {
+            throw new IllegalArgumentException("O vértice " + v + " já é centro");
+        }
+    }
+}
\ No newline at end of file
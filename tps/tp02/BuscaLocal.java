@@ -0,0 +1,205 @@
+package tps.tp02;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Melhoria do Farthest-First por busca local com trocas de centros e busca
+ * local iterada (ILS), dentro de um orçamento de tempo.
+ *
+ * Cada reinício parte do Farthest-First com outro primeiro centro (o
+ * primeiro reinício usa o vértice 0, o mesmo de SolucaoAproximada, então o
+ * resultado nunca é pior que o dela). A busca local troca um centro a por um
+ * vértice b que fica a menos do raio do vértice mais distante u; aceita a
+ * troca se o raio cai ou, com o mesmo raio, se diminui o número de vértices
+ * no raio (os platôs são comuns no k-centros). As trocas são avaliadas em
+ * O(V) pelo AvaliadorIncremental.
+ *
+ * No ótimo local, a ILS perturba a solução (um centro sorteado vai para u)
+ * e repete a busca local, voltando à melhor solução do reinício quando o raio
+ * piora. Os reinícios rodam em paralelo, uma sequência por núcleo.
+ */
+public class BuscaLocal {
+
+    // Perturbações seguidas sem melhorar o raio antes de reiniciar
+    private static final int PERTURBACOES_SEM_MELHORA = 50;
+
+    private final Instancia instancia;
+    private final int V;
+    private final int k;
+    private final MatrizDistancias distancias;
+    private final long orcamentoMs;
+    private final long semente;
+
+    // Melhor solução entre todas as threads
+    private long melhorRaio = Long.MAX_VALUE;
+    private int[] melhoresCentros = new int[0];
+
+    private volatile boolean cancelado;
+
+    private final AtomicInteger proximoInicio = new AtomicInteger();
+    private final AtomicInteger reinicios = new AtomicInteger();
+
+    /**
+     * Classe interna para encapsular o resultado (como nas outras soluções).
+     */
+    public static class Resultado {
+        public final long raio;
+        public final int[] centros;
+        public final double tempoExecucaoMs;
+        public final int reinicios;
+
+        public Resultado(long raio, int[] centros, double tempoExecucaoMs, int reinicios) {
+            this.raio = raio;
+            this.centros = centros;
+            this.tempoExecucaoMs = tempoExecucaoMs;
+            this.reinicios = reinicios;
+        }
+    }
+
+    /**
+     * @param instancia   O problema carregado do arquivo.
+     * @param orcamentoMs Tempo máximo de busca, em milissegundos (pelo menos
+     *                    um reinício é sempre feito).
+     */
+    public BuscaLocal(Instancia instancia, long orcamentoMs) {
+        this(instancia, orcamentoMs, 42);
+    }
+
+    /**
+     * @param semente Semente das perturbações (cada thread usa semente + id).
+     */
+    public BuscaLocal(Instancia instancia, long orcamentoMs, long semente) {
+        this.instancia = instancia;
+        this.V = instancia.getV();
+        this.k = instancia.getK();
+        this.distancias = instancia.getMatriz();
+        this.orcamentoMs = orcamentoMs;
+        this.semente = semente;
+    }
+
+    /**
+     * Executa os reinícios até o fim do orçamento.
+     * 
+     * @return Um objeto Resultado com o melhor raio, os centros e o tempo.
+     */
+    public Resultado resolver() {
+        System.out.println("Iniciando Busca Local (trocas + ILS, " + orcamentoMs + " ms)...");
+
+        long inicio = System.nanoTime();
+        long prazo = inicio + orcamentoMs * 1_000_000L;
+
+        if (k > 0 && k < V) {
+            int nucleos = Runtime.getRuntime().availableProcessors();
+            IntStream threads = IntStream.range(0, nucleos);
+            (nucleos > 1 ? threads.parallel() : threads).forEach(id -> executar(id, prazo));
+        } else {
+            // Sem trocas possíveis: fica o Farthest-First
+            SolucaoAproximada.Resultado ff = new SolucaoAproximada(instancia).resolver(0);
+            registrar(ff.raio, ff.centros);
+        }
+
+        long fim = System.nanoTime();
+        double tempoMs = (fim - inicio) / 1_000_000.0;
+
+        return new Resultado(melhorRaio, melhoresCentros, tempoMs, reinicios.get());
+    }
+
+    /**
+     * Pede a interrupção de resolver() (de outra thread), que termina com
+     * CancellationException em vez de esperar o fim do orçamento.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    // --- Lógica do Algoritmo ---
+
+    /**
+     * Sequência de reinícios de uma thread.
+     */
+    private void executar(int id, long prazo) {
+        Random aleatorio = new Random(semente + id);
+        SolucaoAproximada farthestFirst = new SolucaoAproximada(instancia);
+
+        do {
+            int primeiroCentro = proximoInicio.getAndIncrement() % V;
+            reinicios.incrementAndGet();
+
+            int[] centros = farthestFirst.resolver(primeiroCentro).centros;
+            AvaliadorIncremental avaliador = new AvaliadorIncremental(distancias, centros);
+            buscaLocal(avaliador, prazo);
+
+            // Busca local iterada: perturba, melhora e volta ao melhor
+            // ótimo local do reinício quando o raio piora
+            long melhorDoReinicio = avaliador.raio();
+            int[] centrosDoReinicio = avaliador.getCentros();
+            registrar(melhorDoReinicio, centrosDoReinicio);
+
+            int semMelhora = 0;
+            while (semMelhora < PERTURBACOES_SEM_MELHORA && avaliador.raio() > 0
+                    && System.nanoTime() < prazo) {
+                perturbar(avaliador, aleatorio);
+                buscaLocal(avaliador, prazo);
+
+                if (avaliador.raio() < melhorDoReinicio) {
+                    melhorDoReinicio = avaliador.raio();
+                    centrosDoReinicio = avaliador.getCentros();
+                    registrar(melhorDoReinicio, centrosDoReinicio);
+                    semMelhora = 0;
+                } else {
+                    semMelhora++;
+                    if (avaliador.raio() > melhorDoReinicio) {
+                        avaliador = new AvaliadorIncremental(distancias, centrosDoReinicio);
+                    }
+                }
+            }
+        } while (System.nanoTime() < prazo);
+    }
+
+    /**
+     * Aplica trocas que melhoram (raio, vértices no raio) até o ótimo local
+     * ou o fim do prazo.
+     */
+    private void buscaLocal(AvaliadorIncremental avaliador, long prazo) {
+        boolean melhorou = true;
+        while (melhorou && avaliador.raio() > 0 && System.nanoTime() < prazo) {
+            if (cancelado) {
+                throw new CancellationException("Busca local cancelada");
+            }
+            melhorou = false;
+            long raio = avaliador.raio();
+            int noRaio = avaliador.contar(raio);
+            int u = avaliador.verticeMaisDistante();
+
+            // Só um centro a menos de 'raio' de u pode tirá-lo do raio
+            for (int b = 0; b < V && !melhorou; b++) {
+                if (avaliador.ehCentro(b) || distancias.get(u, b) >= raio) {
+                    continue;
+                }
+                int a = avaliador.melhorTroca(b, noRaio);
+                if (a >= 0) {
+                    avaliador.trocar(a, b);
+                    melhorou = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Move um centro sorteado para o vértice mais distante.
+     */
+    private void perturbar(AvaliadorIncremental avaliador, Random aleatorio) {
+        int[] centros = avaliador.getCentros();
+        avaliador.trocar(centros[aleatorio.nextInt(centros.length)], avaliador.verticeMaisDistante());
+    }
+
+    private synchronized void registrar(long raio, int[] centros) {
+        if (raio < melhorRaio) {
+            melhorRaio = raio;
+            melhoresCentros = centros;
+        }
+    }
+}
\ No newline at end of file
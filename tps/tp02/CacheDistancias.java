@@ -0,0 +1,151 @@
+package tps.tp02;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Cache em disco das matrizes de distâncias já calculadas, indexado pelo
+ * SHA-256 do conteúdo do arquivo da instância (renomear ou mover o arquivo
+ * não invalida o cache; alterá-lo, sim).
+ *
+ * Cada matriz fica em "<sha256>.dist" no diretório do cache, em formato
+ * binário:
+ * - cabeçalho: "KCD3", V, k e a largura de cada distância (1, 2 ou 4
+ * bytes), como inteiros de 4 bytes;
+ * - o triângulo inferior da matriz (i >= j), linha a linha, exatamente como
+ * guardado pela {@link MatrizDistancias}.
+ *
+ * A leitura mapeia o arquivo em memória (FileChannel.map) e copia o
+ * triângulo de uma vez para a matriz.
+ */
+public class CacheDistancias {
+
+    /** Propriedade de sistema com o diretório do cache. */
+    public static final String PROPRIEDADE_DIRETORIO = "tp02.cache";
+
+    private static final int MAGICO = 0x4B434433; // "KCD3"
+    private static final int TAMANHO_CABECALHO = 16;
+    private static final String EXTENSAO = ".dist";
+
+    private final Path diretorio;
+
+    public CacheDistancias(Path diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    /**
+     * Cache no diretório da propriedade "tp02.cache" ou, sem ela, em
+     * "tp02-cache" dentro do diretório temporário do sistema.
+     */
+    public static CacheDistancias padrao() {
+        String diretorio = System.getProperty(PROPRIEDADE_DIRETORIO);
+        if (diretorio == null) {
+            return new CacheDistancias(Paths.get(System.getProperty("java.io.tmpdir"), "tp02-cache"));
+        }
+        return new CacheDistancias(Paths.get(diretorio));
+    }
+
+    /**
+     * Chave do cache: SHA-256 do conteúdo do arquivo, em hexadecimal.
+     */
+    public static String chave(Path arquivo) throws IOException {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM é obrigada a oferecer SHA-256
+            throw new IllegalStateException(e);
+        }
+        byte[] resumo = sha.digest(Files.readAllBytes(arquivo));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : resumo) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Lê a instância guardada com a chave.
+     *
+     * @return a instância, ou null se não houver entrada válida no cache.
+     */
+    public Instancia ler(String chave) throws IOException {
+        Path arquivo = diretorio.resolve(chave + EXTENSAO);
+        if (!Files.isRegularFile(arquivo)) {
+            return null;
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO || tamanho > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+
+            if (dados.getInt() != MAGICO) {
+                return null;
+            }
+            int V = dados.getInt();
+            int k = dados.getInt();
+            int largura = dados.getInt();
+            if (V < 0 || (largura != 1 && largura != 2 && largura != 4)
+                    || tamanho != TAMANHO_CABECALHO + (long) V * (V + 1) / 2 * largura) {
+                return null; // Entrada corrompida ou de outro formato: recalcula
+            }
+
+            MatrizDistancias distancias = MatrizDistancias.ler(dados, V, largura,
+                    MatrizDistancias.foraDoHeapPadrao());
+            return new Instancia(V, k, distancias);
+        }
+    }
+
+    /**
+     * Grava a matriz da instância com a chave, se couber em um arquivo
+     * mapeável (até 2 GB).
+     *
+     * @return true se a entrada foi gravada.
+     */
+    public boolean gravar(String chave, Instancia instancia) throws IOException {
+        MatrizDistancias distancias = instancia.getMatriz();
+        long tamanho = TAMANHO_CABECALHO + distancias.bytesUsados();
+        if (tamanho > Integer.MAX_VALUE) {
+            return false;
+        }
+
+        ByteBuffer dados = ByteBuffer.allocate((int) tamanho);
+        dados.putInt(MAGICO).putInt(instancia.getV()).putInt(instancia.getK()).putInt(distancias.largura());
+        distancias.gravarEm(dados);
+        dados.flip();
+
+        // Grava em um arquivo temporário e renomeia, para que execuções
+        // simultâneas nunca leiam uma entrada pela metade
+        Files.createDirectories(diretorio);
+        Path temporario = Files.createTempFile(diretorio, chave, ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                while (dados.hasRemaining()) {
+                    canal.write(dados);
+                }
+            }
+            Path destino = diretorio.resolve(chave + EXTENSAO);
+            try {
+                Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+        return true;
+    }
+}
\ No newline at end of file
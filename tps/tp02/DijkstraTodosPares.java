@@ -0,0 +1,193 @@
+package tps.tp02;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Distâncias de menor caminho entre todos os pares por V execuções de
+ * Dijkstra, uma por origem, sobre as listas de adjacência em formato CSR
+ * (vetores inicio/vizinho/peso).
+ *
+ * Em grafos esparsos, como os pmed (pmed40: 900 vértices e 16200 arestas),
+ * custa O(V (E + V) log V), contra O(V^3) do Floyd-Warshall. As origens são
+ * divididas em faixas processadas em paralelo; cada faixa aloca seu heap e
+ * seu vetor de distâncias uma única vez e copia cada resultado para a linha
+ * da matriz triangular.
+ *
+ * O resultado é o mesmo do Floyd-Warshall: arestas repetidas valem pela
+ * última ocorrência (como na leitura da matriz) e pares sem caminho ficam
+ * com o valor "infinito".
+ */
+public class DijkstraTodosPares {
+
+    private final int V;
+    private final int[] inicio; // arestas de u em [inicio[u], inicio[u + 1])
+    private final int[] vizinho;
+    private final int[] peso;
+
+    /**
+     * Monta as listas de adjacência do grafo não-direcionado.
+     *
+     * @param V          Número de vértices.
+     * @param origens    Vértice de origem de cada aresta (0-indexado).
+     * @param destinos   Vértice de destino de cada aresta (0-indexado).
+     * @param custos     Custo de cada aresta.
+     * @param numArestas Quantidade de arestas usadas dos vetores.
+     */
+    public DijkstraTodosPares(int V, int[] origens, int[] destinos, int[] custos, int numArestas) {
+        this.V = V;
+
+        int[] grau = new int[V + 1];
+        for (int e = 0; e < numArestas; e++) {
+            if (origens[e] != destinos[e]) {
+                grau[origens[e]]++;
+                grau[destinos[e]]++;
+            }
+        }
+        int[] inicio = new int[V + 1];
+        for (int u = 0; u < V; u++) {
+            inicio[u + 1] = inicio[u] + grau[u];
+        }
+
+        // Preenche da última aresta para a primeira: assim a primeira
+        // ocorrência de cada vizinho na lista é a última do arquivo
+        int[] proxima = Arrays.copyOf(inicio, V);
+        int[] vizinho = new int[inicio[V]];
+        int[] peso = new int[inicio[V]];
+        for (int e = numArestas - 1; e >= 0; e--) {
+            int u = origens[e];
+            int v = destinos[e];
+            if (u != v) {
+                vizinho[proxima[u]] = v;
+                peso[proxima[u]++] = custos[e];
+                vizinho[proxima[v]] = u;
+                peso[proxima[v]++] = custos[e];
+            }
+        }
+
+        // Remove as repetições, mantendo a primeira ocorrência de cada vizinho
+        int[] marca = new int[V];
+        Arrays.fill(marca, -1);
+        int escrita = 0;
+        for (int u = 0; u < V; u++) {
+            int fim = inicio[u + 1];
+            inicio[u] = escrita;
+            for (int p = proxima[u] - grau[u]; p < fim; p++) {
+                if (marca[vizinho[p]] != u) {
+                    marca[vizinho[p]] = u;
+                    vizinho[escrita] = vizinho[p];
+                    peso[escrita++] = peso[p];
+                }
+            }
+        }
+        inicio[V] = escrita;
+
+        this.inicio = inicio;
+        this.vizinho = Arrays.copyOf(vizinho, escrita);
+        this.peso = Arrays.copyOf(peso, escrita);
+    }
+
+    /**
+     * Calcula as distâncias no triângulo inferior da matriz (formato de
+     * {@link MatrizDistancias}): a linha de cada origem s guarda as
+     * distâncias de s aos vértices 0..s.
+     *
+     * @param infinito Valor para pares sem caminho (deve suportar a soma de
+     *                 um custo de aresta sem overflow).
+     * @return o triângulo, com V(V+1)/2 posições
+     */
+    public int[] calcular(int infinito) {
+        int[] inicioLinha = MatrizDistancias.inicioLinhas(V);
+        int[] triangulo = new int[MatrizDistancias.tamanhoTriangulo(V)];
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        // Algumas faixas por núcleo equilibram origens mais caras que outras
+        int numFaixas = Math.max(1, Math.min(V, nucleos == 1 ? 1 : 4 * nucleos));
+
+        IntStream faixas = IntStream.range(0, numFaixas);
+        (nucleos > 1 ? faixas.parallel() : faixas).forEach(f -> {
+            int[] dist = new int[V];
+            int[] heap = new int[V];
+            int[] posicao = new int[V];
+            for (int s = (int) ((long) f * V / numFaixas); s < (int) ((long) (f + 1) * V / numFaixas); s++) {
+                dijkstra(s, dist, heap, posicao, infinito);
+                System.arraycopy(dist, 0, triangulo, inicioLinha[s], s + 1);
+            }
+        });
+        return triangulo;
+    }
+
+    /**
+     * Dijkstra com heap binário indexado (posicao[v] = índice no heap, -1
+     * se ainda não visto, -2 se já finalizado).
+     */
+    private void dijkstra(int s, int[] dist, int[] heap, int[] posicao, int infinito) {
+        Arrays.fill(dist, infinito);
+        Arrays.fill(posicao, -1);
+        dist[s] = 0;
+        heap[0] = s;
+        posicao[s] = 0;
+        int tamanho = 1;
+
+        while (tamanho > 0) {
+            int u = heap[0];
+            posicao[u] = -2;
+            tamanho--;
+            if (tamanho > 0) {
+                heap[0] = heap[tamanho];
+                posicao[heap[0]] = 0;
+                descer(0, tamanho, dist, heap, posicao);
+            }
+
+            int du = dist[u];
+            for (int p = inicio[u]; p < inicio[u + 1]; p++) {
+                int v = vizinho[p];
+                int nova = du + peso[p];
+                if (posicao[v] != -2 && nova < dist[v]) {
+                    dist[v] = nova;
+                    if (posicao[v] == -1) {
+                        heap[tamanho] = v;
+                        posicao[v] = tamanho;
+                        tamanho++;
+                    }
+                    subir(posicao[v], dist, heap, posicao);
+                }
+            }
+        }
+    }
+
+    private static void subir(int i, int[] dist, int[] heap, int[] posicao) {
+        int v = heap[i];
+        while (i > 0) {
+            int pai = (i - 1) >> 1;
+            if (dist[heap[pai]] <= dist[v]) {
+                break;
+            }
+            heap[i] = heap[pai];
+            posicao[heap[i]] = i;
+            i = pai;
+        }
+        heap[i] = v;
+        posicao[v] = i;
+    }
+
+    private static void descer(int i, int tamanho, int[] dist, int[] heap, int[] posicao) {
+        int v = heap[i];
+        while (true) {
+            int filho = 2 * i + 1;
+            if (filho >= tamanho) {
+                break;
+            }
+            if (filho + 1 < tamanho && dist[heap[filho + 1]] < dist[heap[filho]]) {
+                filho++;
+            }
+            if (dist[v] <= dist[heap[filho]]) {
+                break;
+            }
+            heap[i] = heap[filho];
+            posicao[heap[i]] = i;
+            i = filho;
+        }
+        heap[i] = v;
+        posicao[v] = i;
+    }
+}
\ No newline at end of file
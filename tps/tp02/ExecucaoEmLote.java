@@ -0,0 +1,446 @@
+package tps.tp02;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Execução não-interativa de várias soluções sobre todas as instâncias
+ * pmed de um diretório (java tps.tp02.Main --lote [opções]).
+ *
+ * As instâncias são distribuídas em um pool de threads, das maiores para as
+ * menores (arquivos maiores costumam demorar mais; começar por eles equilibra
+ * o fim da execução). Cada thread carrega a instância e roda as soluções
+ * pedidas, em ordem, cada uma com tempo limite: ao estourar, a solução é
+ * cancelada (cancelar()) e a linha sai com status "tempo_esgotado".
+ *
+ * Sai uma linha por solução e instância, em CSV ou JSON (um objeto por
+ * linha), com raio, ótimo conhecido, gap, tempo e memória, assim que a
+ * solução termina. O ótimo vem do arquivo de ótimos ("nome raio" por linha)
+ * ou, se a instância não estiver nele, de uma solução exata concluída na
+ * mesma execução; nesse caso as linhas esperam por ela. Arquivos que não podem ser lidos (pmed19, 21, 27, 32, 37 e 39
+ * estão truncados) geram linhas com status "erro".
+ */
+public class ExecucaoEmLote {
+
+    // Nomes das soluções na opção --solucoes e na saída
+    static final String FF = "ff";
+    static final String BUSCA_LOCAL = "busca-local";
+    static final String EXATA = "exata";
+    static final String FORCA_BRUTA = "forca-bruta";
+
+    private static final Pattern ARQUIVO_PMED = Pattern.compile("pmed(\\d+)\\.txt");
+    private static final String[] COLUNAS = { "instancia", "V", "k", "solucao", "status", "raio", "otimo",
+            "gap_pct", "tempo_ms", "memoria_alocada_bytes", "matriz_bytes", "mensagem" };
+
+    // --- Opções ---
+    private Path diretorio;
+    private List<String> solucoes = Arrays.asList(FF, BUSCA_LOCAL, EXATA);
+    private long tempoLimiteMs = 60_000;
+    private long orcamentoBuscaLocalMs = 2_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean json;
+    private String arquivoSaida;
+    private String arquivoOtimos;
+
+    private final Map<String, Long> otimos = new HashMap<>();
+    private PrintWriter saida;
+    private ScheduledExecutorService relogio;
+
+    /**
+     * Medição de uma solução em uma instância (uma linha da saída).
+     */
+    private static class Linha {
+        String status = "ok";
+        long raio = -1;
+        double tempoMs;
+        long memoriaAlocada = -1;
+        String mensagem = "";
+    }
+
+    /**
+     * Ponto de entrada do modo em lote (argumentos depois de --lote).
+     */
+    public static void executar(String[] args) throws IOException, InterruptedException {
+        ExecucaoEmLote lote = new ExecucaoEmLote();
+        if (!lote.lerOpcoes(args)) {
+            imprimirUso();
+            return;
+        }
+        lote.executar();
+    }
+
+    private static void imprimirUso() {
+        System.err.println("Uso: java tps.tp02.Main --lote [opções]");
+        System.err.println("  --diretorio DIR      instâncias pmedN.txt (padrão: tps/tp02)");
+        System.err.println("  --solucoes LISTA     entre ff, busca-local, exata e forca-bruta, separadas por vírgula"
+                + " (padrão: ff,busca-local,exata)");
+        System.err.println("  --tempo-limite MS    tempo máximo de cada solução (padrão: 60000)");
+        System.err.println("  --busca-local MS     orçamento da busca local (padrão: 2000)");
+        System.err.println("  --threads N          instâncias processadas em paralelo (padrão: núcleos)");
+        System.err.println("  --formato csv|json   formato das linhas (padrão: csv)");
+        System.err.println("  --saida ARQUIVO      grava as linhas no arquivo (padrão: saída padrão)");
+        System.err.println("  --otimos ARQUIVO     raios ótimos conhecidos (padrão: DIR/otimos.txt)");
+    }
+
+    private boolean lerOpcoes(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String opcao = args[i];
+                if (i + 1 >= args.length) {
+                    return false;
+                }
+                String valor = args[++i];
+                switch (opcao) {
+                    case "--diretorio":
+                        diretorio = Paths.get(valor);
+                        break;
+                    case "--solucoes":
+                        solucoes = Arrays.asList(valor.split(","));
+                        for (String solucao : solucoes) {
+                            if (!Arrays.asList(FF, BUSCA_LOCAL, EXATA, FORCA_BRUTA).contains(solucao)) {
+                                System.err.println("Solução desconhecida: " + solucao);
+                                return false;
+                            }
+                        }
+                        break;
+                    case "--tempo-limite":
+                        tempoLimiteMs = Long.parseLong(valor);
+                        break;
+                    case "--busca-local":
+                        orcamentoBuscaLocalMs = Long.parseLong(valor);
+                        break;
+                    case "--threads":
+                        threads = Math.max(1, Integer.parseInt(valor));
+                        break;
+                    case "--formato":
+                        if (!valor.equals("csv") && !valor.equals("json")) {
+                            return false;
+                        }
+                        json = valor.equals("json");
+                        break;
+                    case "--saida":
+                        arquivoSaida = valor;
+                        break;
+                    case "--otimos":
+                        arquivoOtimos = valor;
+                        break;
+                    default:
+                        System.err.println("Opção desconhecida: " + opcao);
+                        return false;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Número inválido: " + e.getMessage());
+            return false;
+        }
+        if (diretorio == null) {
+            Path padrao = Paths.get("tps", "tp02");
+            diretorio = Files.isDirectory(padrao) ? padrao : Paths.get(".");
+        }
+        return true;
+    }
+
+    private void executar() throws IOException, InterruptedException {
+        List<Path> instancias = descobrirInstancias();
+        lerOtimos();
+
+        // As soluções escrevem o andamento em System.out; no lote, ele vai
+        // para System.err e a saída padrão fica só com as linhas
+        PrintStream saidaPadrao = System.out;
+        saida = arquivoSaida == null
+                ? new PrintWriter(new OutputStreamWriter(saidaPadrao, StandardCharsets.UTF_8))
+                : new PrintWriter(new OutputStreamWriter(new FileOutputStream(arquivoSaida), StandardCharsets.UTF_8));
+        System.setOut(System.err);
+        if (!json) {
+            saida.println(String.join(",", COLUNAS));
+            saida.flush();
+        }
+
+        relogio = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "tp02-tempo-limite");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (Path instancia : instancias) {
+                pool.execute(() -> processar(instancia));
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } finally {
+            pool.shutdownNow();
+            relogio.shutdownNow();
+            System.setOut(saidaPadrao);
+            saida.close();
+        }
+        System.err.println("Lote concluído: " + instancias.size() + " instâncias.");
+    }
+
+    /**
+     * Arquivos pmedN.txt do diretório, do maior para o menor.
+     */
+    private List<Path> descobrirInstancias() throws IOException {
+        List<Path> instancias = new ArrayList<>();
+        File[] arquivos = diretorio.toFile().listFiles();
+        if (arquivos == null) {
+            throw new IOException("Diretório inexistente: " + diretorio);
+        }
+        for (File arquivo : arquivos) {
+            if (arquivo.isFile() && ARQUIVO_PMED.matcher(arquivo.getName()).matches()) {
+                instancias.add(arquivo.toPath());
+            }
+        }
+        instancias.sort((a, b) -> {
+            int porTamanho = Long.compare(b.toFile().length(), a.toFile().length());
+            return porTamanho != 0 ? porTamanho : Integer.compare(numero(a), numero(b));
+        });
+        return instancias;
+    }
+
+    private static int numero(Path instancia) {
+        Matcher m = ARQUIVO_PMED.matcher(instancia.getFileName().toString());
+        return m.matches() ? Integer.parseInt(m.group(1)) : 0;
+    }
+
+    /**
+     * Lê os ótimos conhecidos: "nome raio" por linha; linhas vazias ou
+     * começando com # são ignoradas.
+     */
+    private void lerOtimos() throws IOException {
+        Path arquivo = arquivoOtimos != null ? Paths.get(arquivoOtimos) : diretorio.resolve("otimos.txt");
+        if (arquivoOtimos == null && !Files.isRegularFile(arquivo)) {
+            return;
+        }
+        for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+            linha = linha.trim();
+            if (linha.isEmpty() || linha.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linha.split("\\s+");
+            otimos.put(campos[0], Long.parseLong(campos[1]));
+        }
+    }
+
+    // --- Execução de uma instância ---
+
+    private void processar(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        Instancia instancia;
+        try {
+            instancia = Instancia.carregar(arquivo.toString());
+        } catch (Exception e) {
+            for (String solucao : solucoes) {
+                Linha linha = new Linha();
+                linha.status = "erro";
+                linha.mensagem = e.getMessage() != null ? e.getMessage() : e.toString();
+                emitir(nome, null, solucao, linha, -1);
+            }
+            return;
+        }
+
+        Linha[] linhas = new Linha[solucoes.size()];
+        long otimo = otimos.getOrDefault(nome, -1L);
+        int emitidas = 0;
+        for (int i = 0; i < linhas.length; i++) {
+            linhas[i] = medir(solucoes.get(i), instancia);
+            // Sem ótimo conhecido, vale o de uma solução exata concluída
+            if (otimo < 0 && exata(solucoes.get(i)) && linhas[i].status.equals("ok")) {
+                otimo = linhas[i].raio;
+            }
+            // As linhas só esperam enquanto uma solução exata ainda pode dar o ótimo
+            if (otimo >= 0 || !restaExata(i + 1)) {
+                for (; emitidas <= i; emitidas++) {
+                    emitir(nome, instancia, solucoes.get(emitidas), linhas[emitidas], otimo);
+                }
+            }
+        }
+    }
+
+    private static boolean exata(String solucao) {
+        return solucao.equals(EXATA) || solucao.equals(FORCA_BRUTA);
+    }
+
+    /** Se alguma solução a partir da posição inicio é exata. */
+    private boolean restaExata(int inicio) {
+        for (int i = inicio; i < solucoes.size(); i++) {
+            if (exata(solucoes.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Roda uma solução na thread atual, medindo o tempo e os bytes alocados
+     * por ela (as threads auxiliares das soluções paralelas não entram na
+     * conta de memória).
+     */
+    private Linha medir(String solucao, Instancia instancia) {
+        Linha linha = new Linha();
+        long alocadoAntes = bytesAlocados();
+        long inicio = System.nanoTime();
+        try {
+            switch (solucao) {
+                case FF:
+                    linha.raio = new SolucaoAproximada(instancia).resolver().raio;
+                    break;
+                case BUSCA_LOCAL: {
+                    BuscaLocal buscaLocal = new BuscaLocal(instancia, orcamentoBuscaLocalMs);
+                    linha.raio = comTempoLimite(buscaLocal::cancelar, () -> buscaLocal.resolver().raio);
+                    break;
+                }
+                case EXATA: {
+                    SolucaoExataCobertura exata = new SolucaoExataCobertura(instancia);
+                    linha.raio = comTempoLimite(exata::cancelar, () -> exata.resolver().raio);
+                    break;
+                }
+                default: {
+                    SolucaoExata forcaBruta = new SolucaoExata(instancia);
+                    linha.raio = comTempoLimite(forcaBruta::cancelar, () -> forcaBruta.resolver().raio);
+                    break;
+                }
+            }
+        } catch (CancellationException e) {
+            linha.status = "tempo_esgotado";
+            linha.raio = -1;
+            linha.mensagem = "mais de " + tempoLimiteMs + " ms";
+        } catch (RuntimeException | OutOfMemoryError e) {
+            linha.status = "erro";
+            linha.raio = -1;
+            linha.mensagem = e.toString();
+        }
+        linha.tempoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        long alocadoDepois = bytesAlocados();
+        if (alocadoAntes >= 0 && alocadoDepois >= 0) {
+            linha.memoriaAlocada = alocadoDepois - alocadoAntes;
+        }
+        return linha;
+    }
+
+    /**
+     * Executa a solução e, se ela passar do tempo limite, chama cancelar()
+     * pela thread do relógio.
+     */
+    private long comTempoLimite(Runnable cancelar, Supplier<Long> solucao) {
+        ScheduledFuture<?> alarme = relogio.schedule(cancelar, tempoLimiteMs, TimeUnit.MILLISECONDS);
+        try {
+            return solucao.get();
+        } finally {
+            alarme.cancel(false);
+        }
+    }
+
+    /**
+     * Bytes alocados pela thread atual desde o início, ou -1 se a JVM não
+     * oferecer a medida.
+     */
+    private static long bytesAlocados() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    // --- Saída ---
+
+    private synchronized void emitir(String nome, Instancia instancia, String solucao, Linha linha, long otimo) {
+        String gap = "";
+        if (linha.raio >= 0 && otimo > 0) {
+            gap = String.format(Locale.US, "%.2f", 100.0 * (linha.raio - otimo) / otimo);
+        }
+        Object[] valores = {
+                nome,
+                instancia != null ? instancia.getV() : null,
+                instancia != null ? instancia.getK() : null,
+                solucao,
+                linha.status,
+                linha.raio >= 0 ? linha.raio : null,
+                otimo >= 0 ? otimo : null,
+                gap.isEmpty() ? null : gap,
+                String.format(Locale.US, "%.3f", linha.tempoMs),
+                linha.memoriaAlocada >= 0 ? linha.memoriaAlocada : null,
+                instancia != null ? instancia.getMatriz().bytesUsados() : null,
+                linha.mensagem.isEmpty() ? null : linha.mensagem };
+
+        StringBuilder texto = new StringBuilder();
+        if (json) {
+            texto.append('{');
+            for (int i = 0; i < COLUNAS.length; i++) {
+                if (i > 0) {
+                    texto.append(',');
+                }
+                texto.append('"').append(COLUNAS[i]).append("\":");
+                Object valor = valores[i];
+                if (valor == null) {
+                    texto.append("null");
+                } else if (valor instanceof String && i != 7 && i != 8) {
+                    texto.append('"').append(escaparJson((String) valor)).append('"');
+                } else {
+                    texto.append(valor);
+                }
+            }
+            texto.append('}');
+        } else {
+            for (int i = 0; i < COLUNAS.length; i++) {
+                if (i > 0) {
+                    texto.append(',');
+                }
+                if (valores[i] != null) {
+                    texto.append(escaparCsv(valores[i].toString()));
+                }
+            }
+        }
+        saida.println(texto);
+        saida.flush();
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n")) {
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+        return valor;
+    }
+
+    private static String escaparJson(String valor) {
+        StringBuilder texto = new StringBuilder();
+        for (char c : valor.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                texto.append('\\').append(c);
+            } else if (c < 0x20) {
+                texto.append(String.format("\\u%04x", (int) c));
+            } else {
+                texto.append(c);
+            }
+        }
+        return texto.toString();
+    }
+}
\ No newline at end of file
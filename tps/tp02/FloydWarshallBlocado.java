@@ -0,0 +1,123 @@
+package tps.tp02;
+
+import java.util.stream.IntStream;
+
+/**
+ * Floyd-Warshall em blocos (tiles) sobre uma matriz V x V armazenada em um
+ * único vetor int[] (linha i começa em i * V).
+ *
+ * Para cada bloco diagonal kb, em três fases:
+ * 1. o bloco (kb, kb) é resolvido sozinho;
+ * 2. os blocos da linha kb e da coluna kb, que só dependem do bloco
+ * diagonal, são atualizados em paralelo;
+ * 3. os demais blocos, que só dependem dos da fase 2, são atualizados em
+ * paralelo.
+ *
+ * Cada bloco cabe no cache L1/L2, e o laço mais interno percorre posições
+ * contíguas com um Math.min, que o JIT pode vetorizar. O paralelismo usa o
+ * pool fork/join comum (streams paralelos) quando há mais de um núcleo.
+ *
+ * O resultado é exatamente o do Floyd-Warshall clássico: as distâncias de
+ * menor caminho (ou o valor "infinito" para pares sem caminho).
+ */
+public class FloydWarshallBlocado {
+
+    /** Lado do bloco: 64 x 64 inteiros = 16 KB. */
+    public static final int TAMANHO_BLOCO = 64;
+
+    /**
+     * Executa o algoritmo sobre a matriz, no próprio vetor.
+     *
+     * @param dist Matriz V x V de distâncias diretas (linha a linha), com o
+     *             "infinito" <= Integer.MAX_VALUE / 2 para evitar overflow.
+     * @param V    Número de vértices.
+     */
+    public static void executar(int[] dist, int V) {
+        int numBlocos = (V + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        // Com um só núcleo o stream paralelo só acrescenta custo
+        boolean paralelo = Runtime.getRuntime().availableProcessors() > 1;
+
+        for (int kb = 0; kb < numBlocos; kb++) {
+            int k0 = kb * TAMANHO_BLOCO;
+            int k1 = Math.min(k0 + TAMANHO_BLOCO, V);
+            final int blocoK = kb;
+
+            // Fase 1: bloco diagonal
+            relaxarComKExterno(dist, V, k0, k1, k0, k1, k0, k1);
+
+            if (numBlocos == 1) {
+                continue;
+            }
+
+            // Fase 2: blocos da linha kb (t < numBlocos) e da coluna kb (t >= numBlocos)
+            faixa(0, 2 * numBlocos, paralelo).forEach(t -> {
+                int b = t % numBlocos;
+                if (b == blocoK) {
+                    return;
+                }
+                int b0 = b * TAMANHO_BLOCO;
+                int b1 = Math.min(b0 + TAMANHO_BLOCO, V);
+                if (t < numBlocos) {
+                    relaxarComKExterno(dist, V, k0, k1, k0, k1, b0, b1);
+                } else {
+                    relaxarComKExterno(dist, V, k0, k1, b0, b1, k0, k1);
+                }
+            });
+
+            // Fase 3: demais blocos, uma linha de blocos por tarefa
+            faixa(0, numBlocos, paralelo).forEach(ib -> {
+                if (ib == blocoK) {
+                    return;
+                }
+                int i0 = ib * TAMANHO_BLOCO;
+                int i1 = Math.min(i0 + TAMANHO_BLOCO, V);
+                for (int jb = 0; jb < numBlocos; jb++) {
+                    if (jb != blocoK) {
+                        int j0 = jb * TAMANHO_BLOCO;
+                        relaxarIndependente(dist, V, k0, k1, i0, i1, j0, Math.min(j0 + TAMANHO_BLOCO, V));
+                    }
+                }
+            });
+        }
+    }
+
+    private static IntStream faixa(int inicio, int fim, boolean paralelo) {
+        IntStream faixa = IntStream.range(inicio, fim);
+        return paralelo ? faixa.parallel() : faixa;
+    }
+
+    /**
+     * Relaxa o bloco [i0, i1) x [j0, j1) pelos intermediários [k0, k1), com k
+     * no laço externo: necessário quando o próprio bloco fornece d[i][k] ou
+     * d[k][j] (fases 1 e 2).
+     */
+    private static void relaxarComKExterno(int[] dist, int V, int k0, int k1, int i0, int i1, int j0, int j1) {
+        for (int k = k0; k < k1; k++) {
+            int linhaK = k * V;
+            for (int i = i0; i < i1; i++) {
+                int linhaI = i * V;
+                int dik = dist[linhaI + k];
+                for (int j = j0; j < j1; j++) {
+                    dist[linhaI + j] = Math.min(dist[linhaI + j], dik + dist[linhaK + j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxa um bloco da fase 3: d[i][k] e d[k][j] vêm de outros blocos e não
+     * mudam, então a ordem i-k-j mantém a linha i no cache.
+     */
+    private static void relaxarIndependente(int[] dist, int V, int k0, int k1, int i0, int i1, int j0, int j1) {
+        for (int i = i0; i < i1; i++) {
+            int linhaI = i * V;
+            for (int k = k0; k < k1; k++) {
+                int linhaK = k * V;
+                int dik = dist[linhaI + k];
+                for (int j = j0; j < j1; j++) {
+                    dist[linhaI + j] = Math.min(dist[linhaI + j], dik + dist[linhaK + j]);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
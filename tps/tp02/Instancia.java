@@ -3,19 +3,36 @@ package tps.tp02;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 
 /**
  * Esta classe representa uma instância do problema, lida a partir
  * de um arquivo de formato pmed.
  * * Ela armazena o número de vértices (V), o número de centros (k)
- * e a matriz de distâncias de menor caminho (distancias).
+ * e a matriz de distâncias de menor caminho, em formato triangular
+ * compacto ({@link MatrizDistancias}).
  */
 public class Instancia {
 
+    /**
+     * Algoritmo usado para as distâncias de menor caminho entre todos os
+     * pares. AUTOMATICO escolhe pela densidade do grafo.
+     */
+    public enum MetodoDistancias {
+        AUTOMATICO, FLOYD_WARSHALL, DIJKSTRA
+    }
+
+    /**
+     * Custo de uma operação do Dijkstra em relação a uma do Floyd-Warshall em
+     * blocos (cerca de 1,6 a 1,9 medido nas instâncias pmed de 500 a 900
+     * vértices).
+     */
+    static final double FATOR_DIJKSTRA = 2.0;
+
     private int V; // Número de vértices
     private int k; // Número de centros
-    private int[][] distancias; // Matriz de distâncias (grafo completo)
+    private MatrizDistancias distancias; // Matriz de distâncias (grafo completo)
 
     // --- Construtor e Getters ---
 
@@ -25,14 +42,64 @@ public class Instancia {
      * @param caminhoArquivo O nome do arquivo (ex: "pmed1.txt")
      */
     public Instancia(String caminhoArquivo) {
+        this(caminhoArquivo, MetodoDistancias.AUTOMATICO);
+    }
+
+    /**
+     * Construtor que lê o arquivo e calcula as distâncias pelo método dado.
+     * 
+     * @param caminhoArquivo O nome do arquivo (ex: "pmed1.txt")
+     * @param metodo         Algoritmo de menor caminho entre todos os pares
+     */
+    public Instancia(String caminhoArquivo, MetodoDistancias metodo) {
         try {
-            lerEProcessarArquivo(caminhoArquivo);
+            lerEProcessarArquivo(caminhoArquivo, metodo);
         } catch (IOException e) {
             System.err.println("Erro ao ler o arquivo: " + caminhoArquivo);
             e.printStackTrace();
         }
     }
 
+    /**
+     * Instância já calculada (usado pelo cache de distâncias).
+     */
+    Instancia(int V, int k, MatrizDistancias distancias) {
+        this.V = V;
+        this.k = k;
+        this.distancias = distancias;
+    }
+
+    /**
+     * Carrega a instância pelo cache de distâncias ({@link CacheDistancias}):
+     * na primeira vez lê o arquivo, calcula as distâncias e as grava no
+     * cache; nas seguintes, com o arquivo inalterado, só lê a matriz gravada.
+     * Falhas do cache só fazem a instância ser recalculada.
+     * 
+     * @param caminhoArquivo O nome do arquivo (ex: "pmed1.txt")
+     * @throws IOException se o arquivo da instância não puder ser lido
+     */
+    public static Instancia carregar(String caminhoArquivo) throws IOException {
+        CacheDistancias cache = CacheDistancias.padrao();
+        String chave = CacheDistancias.chave(Paths.get(caminhoArquivo));
+        try {
+            Instancia emCache = cache.ler(chave);
+            if (emCache != null) {
+                return emCache;
+            }
+        } catch (IOException e) {
+            System.err.println("Aviso: cache de distâncias ilegível: " + e.getMessage());
+        }
+
+        Instancia instancia = new Instancia(0, 0, null);
+        instancia.lerEProcessarArquivo(caminhoArquivo, MetodoDistancias.AUTOMATICO);
+        try {
+            cache.gravar(chave, instancia);
+        } catch (IOException e) {
+            System.err.println("Aviso: não foi possível gravar o cache de distâncias: " + e.getMessage());
+        }
+        return instancia;
+    }
+
     public int getV() {
         return V;
     }
@@ -42,75 +109,130 @@ public class Instancia {
     }
 
     /**
-     * Retorna a matriz de distâncias de menor caminho (pós-Floyd-Warshall).
+     * Retorna a matriz de distâncias de menor caminho, sem cópia.
+     * 
+     * @return a matriz triangular compacta
+     */
+    public MatrizDistancias getMatriz() {
+        return distancias;
+    }
+
+    /**
+     * Retorna uma cópia V x V da matriz de distâncias de menor caminho,
+     * montada a cada chamada (ocupa de 2 a 8 vezes a memória da matriz
+     * compacta; prefira {@link #getMatriz()}).
      * 
      * @return uma matriz V x V
      */
     public int[][] getDistancias() {
-        return distancias;
+        return distancias.paraMatriz();
     }
 
     // --- Lógica Principal de Leitura e Processamento ---
 
-    private void lerEProcessarArquivo(String caminhoArquivo) throws IOException {
+    private void lerEProcessarArquivo(String caminhoArquivo, MetodoDistancias metodo) throws IOException {
         FileReader fileReader = new FileReader(caminhoArquivo);
         BufferedReader bufferedReader = new BufferedReader(fileReader);
 
         // 1. Ler a primeira linha
         String linha = bufferedReader.readLine();
+        if (linha == null) {
+            bufferedReader.close();
+            throw new IOException("Arquivo vazio: " + caminhoArquivo);
+        }
         String[] cabecalho = linha.trim().split("\\s+");
 
         this.V = Integer.parseInt(cabecalho[0]);
         int numArestas = Integer.parseInt(cabecalho[1]);
         this.k = Integer.parseInt(cabecalho[2]);
 
-        // 2. Inicializar a matriz de distâncias
-        // Usamos V (número de vértices). Os vértices nos arquivos são 1-indexados,
-        // mas em Java usaremos 0-indexado (0 a V-1).
-        this.distancias = new int[V][V];
-
-        // Valor "infinito" para representar ausência de aresta.
-        // Usamos (Integer.MAX_VALUE / 2) para evitar overflow durante a soma
-        // no Floyd-Warshall.
-        int infinito = Integer.MAX_VALUE / 2;
-
-        for (int i = 0; i < V; i++) {
-            Arrays.fill(distancias[i], infinito);
-            distancias[i][i] = 0; // Distância de um nó para ele mesmo é 0
-        }
-
-        // 3. Ler as arestas do arquivo
+        // 2. Ler as arestas do arquivo
+        int[] origens = new int[numArestas];
+        int[] destinos = new int[numArestas];
+        int[] custos = new int[numArestas];
         for (int i = 0; i < numArestas; i++) {
             linha = bufferedReader.readLine();
-            String[] aresta = linha.trim().split("\\s+");
+            String[] aresta = linha == null ? new String[0] : linha.trim().split("\\s+");
+            if (aresta.length < 3 || aresta[2].isEmpty()) {
+                // Fim do arquivo ou linha cortada ao meio
+                bufferedReader.close();
+                throw new IOException("Arquivo truncado: " + caminhoArquivo + " tem " + i + " de "
+                        + numArestas + " arestas completas");
+            }
 
             // Os arquivos são 1-indexados (vértices de 1 a V).
-            // Nosso array é 0-indexado (índices de 0 a V-1).
+            // Nossos arrays são 0-indexados (índices de 0 a V-1).
             // Por isso, subtraímos 1.
-            int u = Integer.parseInt(aresta[0]) - 1;
-            int v = Integer.parseInt(aresta[1]) - 1;
-            int custo = Integer.parseInt(aresta[2]);
-
-            // Grafo não-direcionado
-            distancias[u][v] = custo;
-            distancias[v][u] = custo;
+            origens[i] = Integer.parseInt(aresta[0]) - 1;
+            destinos[i] = Integer.parseInt(aresta[1]) - 1;
+            custos[i] = Integer.parseInt(aresta[2]);
         }
 
         bufferedReader.close();
 
-        // 4. Executar o algoritmo de Floyd-Warshall
-        // Isso transforma nossa matriz de "arestas" em uma matriz de "menor caminho"
-        // (grafo completo)
-        for (int k_fw = 0; k_fw < V; k_fw++) {
-            for (int i = 0; i < V; i++) {
-                for (int j = 0; j < V; j++) {
-                    // Se o caminho i -> k -> j for menor que o caminho direto i -> j
-                    if (distancias[i][k_fw] + distancias[k_fw][j] < distancias[i][j]) {
-                        distancias[i][j] = distancias[i][k_fw] + distancias[k_fw][j];
-                    }
-                }
+        // Valor "infinito" para representar ausência de caminho.
+        // Usamos (Integer.MAX_VALUE / 2) para evitar overflow durante as somas.
+        int infinito = MatrizDistancias.INFINITO;
+
+        // 3. Calcular as distâncias de menor caminho (grafo completo)
+        if (metodo == MetodoDistancias.AUTOMATICO) {
+            metodo = escolherMetodo(V, numArestas);
+        }
+        int[] triangulo;
+        if (metodo == MetodoDistancias.DIJKSTRA) {
+            triangulo = new DijkstraTodosPares(V, origens, destinos, custos, numArestas).calcular(infinito);
+        } else {
+            triangulo = floydWarshall(origens, destinos, custos, numArestas, infinito);
+        }
+
+        // 4. Guardar na menor largura possível (byte, char ou int)
+        this.distancias = MatrizDistancias.compactar(triangulo, V, MatrizDistancias.foraDoHeapPadrao());
+    }
+
+    /**
+     * Escolhe o método pela densidade: Dijkstra custa cerca de
+     * V * 2E * log2(V) operações e o Floyd-Warshall V^3, mas cada operação do
+     * Floyd-Warshall em blocos é mais barata (laço contíguo, sem heap).
+     */
+    static MetodoDistancias escolherMetodo(int V, int numArestas) {
+        double log2V = Math.log(Math.max(V, 2)) / Math.log(2);
+        double custoDijkstra = 2.0 * numArestas * log2V;
+        return custoDijkstra * FATOR_DIJKSTRA < (double) V * V ? MetodoDistancias.DIJKSTRA
+                : MetodoDistancias.FLOYD_WARSHALL;
+    }
+
+    private int[] floydWarshall(int[] origens, int[] destinos, int[] custos, int numArestas, int infinito) {
+        // A matriz é montada em um único vetor (linha i a partir de i * V),
+        // que é o formato usado pelo Floyd-Warshall em blocos.
+        int[] matriz = new int[V * V];
+        Arrays.fill(matriz, infinito);
+        for (int i = 0; i < V; i++) {
+            matriz[i * V + i] = 0; // Distância de um nó para ele mesmo é 0
+        }
+
+        // Grafo não-direcionado; arestas repetidas valem pela última ocorrência.
+        // Arestas de um vértice para ele mesmo são ignoradas (como no
+        // DijkstraTodosPares), para que a diagonal fique 0
+        for (int i = 0; i < numArestas; i++) {
+            if (origens[i] == destinos[i]) {
+                continue;
             }
+            matriz[origens[i] * V + destinos[i]] = custos[i];
+            matriz[destinos[i] * V + origens[i]] = custos[i];
+        }
+
+        // Floyd-Warshall (em blocos, em paralelo): transforma a matriz de
+        // "arestas" em uma matriz de "menor caminho"
+        FloydWarshallBlocado.executar(matriz, V);
+
+        // Triângulo inferior, no formato da MatrizDistancias
+        int[] triangulo = new int[MatrizDistancias.tamanhoTriangulo(V)];
+        int posicao = 0;
+        for (int i = 0; i < V; i++) {
+            System.arraycopy(matriz, i * V, triangulo, posicao, i + 1);
+            posicao += i + 1;
         }
+        return triangulo;
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package tps.tp02;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Scanner;
@@ -8,15 +9,26 @@ import java.util.Scanner;
 /**
  * Classe principal para testar UMA instância (arquivo) de cada vez.
  * * Este programa pede ao usuário o nome do arquivo,
- * carrega-o, e executa as soluções Exata e Aproximada,
+ * carrega-o, e executa as soluções Exata, Aproximada e a Busca Local,
  * mostrando uma comparação dos resultados.
+ * * Com o argumento --lote, roda todas as instâncias de um diretório sem
+ * perguntas ({@link ExecucaoEmLote}).
  */
 public class Main {
 
-    public static void main(String[] args) {
+    // Tempo da busca local após o Farthest-First
+    private static final long ORCAMENTO_BUSCA_LOCAL_MS = 2000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
         // Define o Locale para usar ponto (.) como separador decimal no printf
         Locale.setDefault(Locale.US);
 
+        // Modo em lote: todas as instâncias do diretório, sem perguntas
+        if (args.length > 0 && args[0].equals("--lote")) {
+            ExecucaoEmLote.executar(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         // Objeto para ler a entrada do usuário (nome do arquivo)
         Scanner scanner = new Scanner(System.in);
 
@@ -30,8 +42,11 @@ public class Main {
 
             // --- 1. Carregar a Instância ---
             System.out.println("\nProcessando arquivo: " + caminhoArquivo + "...");
-            Instancia instancia = new Instancia(caminhoArquivo);
-            System.out.println("Instância carregada: V=" + instancia.getV() + ", k=" + instancia.getK());
+            // (as distâncias de execuções anteriores vêm do cache em disco)
+            long inicioCarga = System.nanoTime();
+            Instancia instancia = Instancia.carregar(caminhoArquivo);
+            System.out.printf("Instância carregada: V=%d, k=%d (%.1f ms)%n", instancia.getV(), instancia.getK(),
+                    (System.nanoTime() - inicioCarga) / 1_000_000.0);
             System.out.println("----------------------------------------------");
 
             // --- 2. Executar Solução Aproximada ---
@@ -45,31 +60,51 @@ public class Main {
             System.out.println("Centros: " + formatarCentros(resAprox.centros));
             System.out.println("----------------------------------------------");
 
-            // --- 3. Executar Solução Exata (com aviso) ---
-            System.out.println("\n--- 2. Resultado (Exata / Força Bruta) ---");
+            // --- 3. Melhorar com Busca Local ---
+            // (Reinícios do Farthest-First + trocas, com tempo limitado)
+            BuscaLocal buscaLocal = new BuscaLocal(instancia, ORCAMENTO_BUSCA_LOCAL_MS);
+            BuscaLocal.Resultado resLocal = buscaLocal.resolver();
+
+            System.out.println("\n--- 2. Resultado (Busca Local) ---");
+            System.out.printf("Tempo de Execução: %.4f ms (%d reinícios)%n", resLocal.tempoExecucaoMs,
+                    resLocal.reinicios);
+            System.out.println("Raio Encontrado:   " + resLocal.raio);
+            System.out.println("Centros: " + formatarCentros(resLocal.centros));
+            System.out.println("----------------------------------------------");
+
+            // --- 4. Executar Solução Exata (com aviso) ---
+            System.out.println("\n--- 3. Resultado (Exata) ---");
             System.out.println("AVISO: A solução exata (V=" + instancia.getV() + ", k=" + instancia.getK()
                     + ") pode demorar MUITO.");
-            System.out.print("Deseja executá-la? (s/n): ");
+            System.out.print("Deseja executá-la? (s = busca no raio, f = força bruta com poda, n = não): ");
 
             String resposta = scanner.nextLine().trim().toLowerCase();
 
-            if (resposta.equals("s")) {
-                SolucaoExata exata = new SolucaoExata(instancia);
-                SolucaoExata.Resultado resExato = exata.resolver();
+            if (resposta.equals("s") || resposta.equals("f")) {
+                SolucaoExataCobertura cobertura = resposta.equals("s") ? new SolucaoExataCobertura(instancia) : null;
+                SolucaoExata.Resultado resExato = cobertura != null
+                        ? cobertura.resolver()
+                        : new SolucaoExata(instancia).resolver();
 
                 System.out.println("\nSolução Exata Concluída.");
                 System.out.printf("Tempo de Execução: %.4f ms%n", resExato.tempoExecucaoMs);
+                if (cobertura != null) {
+                    System.out.println("Nós explorados:    " + cobertura.getNosExplorados());
+                }
                 System.out.println("Raio Encontrado:   " + resExato.raio);
                 System.out.println("Centros: " + formatarCentros(resExato.centros));
 
                 // Comparação final
                 System.out.println("\n--- Comparação Final ---");
                 System.out.printf("Raio (Aproximado): %d (%.4f ms)%n", resAprox.raio, resAprox.tempoExecucaoMs);
+                System.out.printf("Raio (Busca Local): %d (%.4f ms)%n", resLocal.raio, resLocal.tempoExecucaoMs);
                 System.out.printf("Raio (Exato):      %d (%.4f ms)%n", resExato.raio, resExato.tempoExecucaoMs);
 
                 if (resExato.raio > 0) {
                     double gap = 100.0 * (resAprox.raio - resExato.raio) / (double) resExato.raio;
                     System.out.printf("Gap (Aprox. vs Exato): %.2f%%%n", gap);
+                    double gapLocal = 100.0 * (resLocal.raio - resExato.raio) / (double) resExato.raio;
+                    System.out.printf("Gap (Busca Local vs Exato): %.2f%%%n", gapLocal);
                 }
 
             } else {
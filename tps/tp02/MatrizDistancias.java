@@ -0,0 +1,318 @@
+package tps.tp02;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Matriz de distâncias simétrica guardada só pelo triângulo inferior: a
+ * posição (i, j), com i >= j, fica no índice i(i+1)/2 + j de um vetor
+ * linear, e (j, i) é lida da mesma posição.
+ *
+ * Cada distância ocupa 1, 2 ou 4 bytes (byte, char ou int), a menor
+ * largura que comporta a maior distância finita; nas larguras 1 e 2 o maior
+ * valor sem sinal (0xFF, 0xFFFF) representa o "infinito". Comparada a um
+ * int[V][V], a matriz usa metade da memória com int e um quarto com char.
+ *
+ * O vetor pode ficar no heap ou fora dele, em um ByteBuffer direto (que não
+ * pesa no heap máximo da JVM nem na coleta de lixo).
+ */
+public abstract class MatrizDistancias {
+
+    /** Distância entre vértices sem caminho. */
+    public static final int INFINITO = Integer.MAX_VALUE / 2;
+
+    /** Propriedade de sistema que guarda as matrizes fora do heap. */
+    public static final String PROPRIEDADE_FORA_DO_HEAP = "tp02.foraDoHeap";
+
+    private static final int SEM_CAMINHO_BYTE = 0xFF;
+    private static final int SEM_CAMINHO_CHAR = 0xFFFF;
+
+    protected final int V;
+    private final int[] inicioLinha; // índice da posição (i, 0)
+
+    protected MatrizDistancias(int V) {
+        this.V = V;
+        this.inicioLinha = inicioLinhas(V);
+    }
+
+    /**
+     * Índice da posição (i, 0) no triângulo, para cada linha i.
+     *
+     * @throws IllegalArgumentException se o triângulo não couber em um vetor.
+     */
+    static int[] inicioLinhas(int V) {
+        if ((long) V * (V + 1) / 2 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Instância grande demais para a matriz de distâncias: V=" + V);
+        }
+        int[] inicio = new int[V];
+        for (int i = 1; i < V; i++) {
+            inicio[i] = inicio[i - 1] + i;
+        }
+        return inicio;
+    }
+
+    /** Número de posições do triângulo (com a diagonal). */
+    static int tamanhoTriangulo(int V) {
+        return (int) ((long) V * (V + 1) / 2);
+    }
+
+    public int getV() {
+        return V;
+    }
+
+    /**
+     * Distância de menor caminho entre i e j (INFINITO se não houver).
+     */
+    public final int get(int i, int j) {
+        return i >= j ? valor(inicioLinha[i] + j) : valor(inicioLinha[j] + i);
+    }
+
+    /**
+     * Copia a linha v (distâncias de v a todos os vértices) em destino, que
+     * deve ter pelo menos V posições.
+     */
+    public void copiarLinha(int v, int[] destino) {
+        int base = inicioLinha[v];
+        for (int j = 0; j <= v; j++) {
+            destino[j] = valor(base + j);
+        }
+        for (int j = v + 1; j < V; j++) {
+            destino[j] = valor(inicioLinha[j] + v);
+        }
+    }
+
+    /**
+     * Cópia completa V x V (materializada a cada chamada).
+     */
+    public int[][] paraMatriz() {
+        int[][] matriz = new int[V][V];
+        for (int i = 0; i < V; i++) {
+            copiarLinha(i, matriz[i]);
+        }
+        return matriz;
+    }
+
+    /** Bytes ocupados pelas distâncias. */
+    public long bytesUsados() {
+        return (long) tamanhoTriangulo(V) * largura();
+    }
+
+    /** Valor guardado na posição do triângulo. */
+    abstract int valor(int posicao);
+
+    /** Bytes por distância: 1, 2 ou 4. */
+    abstract int largura();
+
+    /**
+     * Grava o triângulo em destino, na largura da matriz e na ordem de bytes
+     * do buffer (formato lido por {@link #ler}).
+     */
+    void gravarEm(ByteBuffer destino) {
+        int tamanho = tamanhoTriangulo(V);
+        int largura = largura();
+        for (int p = 0; p < tamanho; p++) {
+            int d = valor(p);
+            if (largura == 1) {
+                destino.put((byte) (d >= INFINITO ? SEM_CAMINHO_BYTE : d));
+            } else if (largura == 2) {
+                destino.putChar((char) (d >= INFINITO ? SEM_CAMINHO_CHAR : d));
+            } else {
+                destino.putInt(d);
+            }
+        }
+    }
+
+    // --- Construção ---
+
+    /**
+     * Se a propriedade "tp02.foraDoHeap" pede matrizes fora do heap.
+     */
+    public static boolean foraDoHeapPadrao() {
+        return Boolean.getBoolean(PROPRIEDADE_FORA_DO_HEAP);
+    }
+
+    /**
+     * Guarda o triângulo (posição (i, j), i >= j, no índice i(i+1)/2 + j) na
+     * menor largura que comporta suas distâncias.
+     *
+     * @param triangulo  Distâncias, com INFINITO para pares sem caminho. Com
+     *                   largura 4 no heap, o próprio vetor é usado.
+     * @param V          Número de vértices.
+     * @param foraDoHeap Se o vetor deve ficar em um ByteBuffer direto.
+     */
+    public static MatrizDistancias compactar(int[] triangulo, int V, boolean foraDoHeap) {
+        int tamanho = tamanhoTriangulo(V);
+        int maximo = 0;
+        for (int p = 0; p < tamanho; p++) {
+            int d = triangulo[p];
+            if (d < 0) {
+                throw new IllegalArgumentException("Distância negativa na matriz: " + d);
+            }
+            if (d < INFINITO && d > maximo) {
+                maximo = d;
+            }
+        }
+        int largura = maximo < SEM_CAMINHO_BYTE ? 1 : maximo < SEM_CAMINHO_CHAR ? 2 : 4;
+
+        if (foraDoHeap) {
+            ForaDoHeap matriz = new ForaDoHeap(V, largura);
+            matriz.preencher(triangulo);
+            return matriz;
+        }
+        if (largura == 1) {
+            byte[] dados = new byte[tamanho];
+            for (int p = 0; p < tamanho; p++) {
+                dados[p] = (byte) (triangulo[p] >= INFINITO ? SEM_CAMINHO_BYTE : triangulo[p]);
+            }
+            return new Bytes(V, dados);
+        }
+        if (largura == 2) {
+            char[] dados = new char[tamanho];
+            for (int p = 0; p < tamanho; p++) {
+                dados[p] = (char) (triangulo[p] >= INFINITO ? SEM_CAMINHO_CHAR : triangulo[p]);
+            }
+            return new Chars(V, dados);
+        }
+        return new Ints(V, triangulo);
+    }
+
+    /**
+     * Lê um triângulo gravado por {@link #gravarEm}, a partir da posição
+     * atual de origem.
+     */
+    static MatrizDistancias ler(ByteBuffer origem, int V, int largura, boolean foraDoHeap) {
+        int tamanho = tamanhoTriangulo(V);
+        if (foraDoHeap) {
+            ForaDoHeap matriz = new ForaDoHeap(V, largura);
+            ByteBuffer trecho = origem.slice();
+            trecho.limit(tamanho * largura);
+            matriz.dados.put(trecho);
+            return matriz;
+        }
+        if (largura == 1) {
+            byte[] dados = new byte[tamanho];
+            origem.get(dados);
+            return new Bytes(V, dados);
+        }
+        if (largura == 2) {
+            char[] dados = new char[tamanho];
+            origem.asCharBuffer().get(dados);
+            return new Chars(V, dados);
+        }
+        int[] dados = new int[tamanho];
+        origem.asIntBuffer().get(dados);
+        return new Ints(V, dados);
+    }
+
+    // --- Implementações ---
+
+    private static final class Bytes extends MatrizDistancias {
+        private final byte[] dados;
+
+        Bytes(int V, byte[] dados) {
+            super(V);
+            this.dados = dados;
+        }
+
+        @Override
+        int valor(int posicao) {
+            int d = dados[posicao] & 0xFF;
+            return d == SEM_CAMINHO_BYTE ? INFINITO : d;
+        }
+
+        @Override
+        int largura() {
+            return 1;
+        }
+    }
+
+    private static final class Chars extends MatrizDistancias {
+        private final char[] dados;
+
+        Chars(int V, char[] dados) {
+            super(V);
+            this.dados = dados;
+        }
+
+        @Override
+        int valor(int posicao) {
+            int d = dados[posicao];
+            return d == SEM_CAMINHO_CHAR ? INFINITO : d;
+        }
+
+        @Override
+        int largura() {
+            return 2;
+        }
+    }
+
+    private static final class Ints extends MatrizDistancias {
+        private final int[] dados;
+
+        Ints(int V, int[] dados) {
+            super(V);
+            this.dados = dados;
+        }
+
+        @Override
+        int valor(int posicao) {
+            return dados[posicao];
+        }
+
+        @Override
+        int largura() {
+            return 4;
+        }
+    }
+
+    /**
+     * Triângulo em um ByteBuffer direto. O Java 17 não tem a API de memória
+     * externa (MemorySegment) sem --enable-preview; o ByteBuffer direto
+     * limita o triângulo a 2 GB.
+     */
+    private static final class ForaDoHeap extends MatrizDistancias {
+        private final ByteBuffer dados;
+        private final int largura;
+
+        ForaDoHeap(int V, int largura) {
+            super(V);
+            long bytes = (long) tamanhoTriangulo(V) * largura;
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Matriz grande demais para um ByteBuffer: " + bytes + " bytes");
+            }
+            this.dados = ByteBuffer.allocateDirect((int) bytes);
+            this.largura = largura;
+        }
+
+        void preencher(int[] triangulo) {
+            int tamanho = tamanhoTriangulo(V);
+            for (int p = 0; p < tamanho; p++) {
+                int d = triangulo[p];
+                if (largura == 1) {
+                    dados.put(p, (byte) (d >= INFINITO ? SEM_CAMINHO_BYTE : d));
+                } else if (largura == 2) {
+                    dados.putChar(2 * p, (char) (d >= INFINITO ? SEM_CAMINHO_CHAR : d));
+                } else {
+                    dados.putInt(4 * p, d);
+                }
+            }
+        }
+
+        @Override
+        int valor(int posicao) {
+            if (largura == 1) {
+                int d = dados.get(posicao) & 0xFF;
+                return d == SEM_CAMINHO_BYTE ? INFINITO : d;
+            }
+            if (largura == 2) {
+                int d = dados.getChar(2 * posicao);
+                return d == SEM_CAMINHO_CHAR ? INFINITO : d;
+            }
+            return dados.getInt(4 * posicao);
+        }
+
+        @Override
+        int largura() {
+            return largura;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package tps.tp02;
+
+/**
+ * Um passo do Farthest-First em uma só passada pelos vértices: atualiza a
+ * distância de cada vértice ao centro mais próximo com a linha do novo centro
+ * e acha o vértice mais distante.
+ *
+ * Os centros ficam marcados com -1 em minimos (min(-1, d) = -1), o que tira
+ * os centros da busca pelo mais distante sem teste de pertinência.
+ *
+ * Há duas implementações: a escalar, abaixo, e uma vetorial com a Vector API
+ * (tps.tp02.simd.PassoVetorial), compilada à parte porque o módulo
+ * jdk.incubator.vector precisa de --add-modules. {@link #melhorDisponivel()}
+ * carrega a vetorial por reflexão e fica com a escalar se ela não estiver
+ * disponível.
+ */
+public interface PassoFarthestFirst {
+
+    /** Propriedade de sistema que desliga a implementação vetorial. */
+    String PROPRIEDADE_VETORIAL = "tp02.vetorial";
+
+    /**
+     * Faz minimos[v] = min(minimos[v], linha[v]) para v em [0, n) e devolve o
+     * v de maior minimos[v] (o de menor índice, em caso de empate), ou -1 se
+     * todos forem negativos (todos os vértices são centros).
+     */
+    int atualizar(int[] minimos, int[] linha, int n);
+
+    /** Nome da implementação, para relatórios. */
+    String nome();
+
+    /**
+     * A implementação vetorial, se a classe e o módulo jdk.incubator.vector
+     * estiverem presentes e a propriedade "tp02.vetorial" não for "false";
+     * senão, a escalar.
+     */
+    static PassoFarthestFirst melhorDisponivel() {
+        return Implementacoes.MELHOR;
+    }
+
+    /** A implementação escalar. */
+    static PassoFarthestFirst escalar() {
+        return Implementacoes.ESCALAR;
+    }
+
+    /**
+     * Guarda as instâncias (interfaces não têm campos privados).
+     */
+    final class Implementacoes {
+        static final PassoFarthestFirst ESCALAR = new Escalar();
+        static final PassoFarthestFirst MELHOR = carregarVetorial();
+
+        private Implementacoes() {
+        }
+
+        private static PassoFarthestFirst carregarVetorial() {
+            if ("false".equals(System.getProperty(PROPRIEDADE_VETORIAL))) {
+                return ESCALAR;
+            }
+            try {
+                Class<?> classe = Class.forName("tps.tp02.simd.PassoVetorial");
+                return (PassoFarthestFirst) classe.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+                // Classe não compilada ou JVM sem --add-modules jdk.incubator.vector
+                return ESCALAR;
+            }
+        }
+    }
+
+    /**
+     * Laço escalar fundido (mínimo e argmax na mesma passada).
+     */
+    final class Escalar implements PassoFarthestFirst {
+        @Override
+        public int atualizar(int[] minimos, int[] linha, int n) {
+            int maisDistante = -1;
+            int maior = -1;
+            for (int v = 0; v < n; v++) {
+                int m = Math.min(minimos[v], linha[v]);
+                minimos[v] = m;
+                if (m > maior) {
+                    maior = m;
+                    maisDistante = v;
+                }
+            }
+            return maisDistante;
+        }
+
+        @Override
+        public String nome() {
+            return "escalar";
+        }
+    }
+}
\ No newline at end of file
@@ -1,8 +1,6 @@
 package tps.tp02;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Esta classe implementa uma solução APROXIMADA (heurística)
@@ -15,7 +13,9 @@ public class SolucaoAproximada {
     private final Instancia instancia;
     private final int V;
     private final int k;
-    private final int[][] distancias;
+    private final MatrizDistancias distancias;
+    private final int[] linha; // Linha da matriz do centro sendo processado
+    private final PassoFarthestFirst passo; // Laço fundido (vetorial, se disponível)
 
     /**
      * Classe interna para encapsular o resultado (igual à da SolucaoExata).
@@ -35,10 +35,20 @@ public class SolucaoAproximada {
     // --- Construtor ---
 
     public SolucaoAproximada(Instancia instancia) {
+        this(instancia, PassoFarthestFirst.melhorDisponivel());
+    }
+
+    /**
+     * Construtor com a implementação do passo fundido (para comparar a
+     * escalar e a vetorial).
+     */
+    public SolucaoAproximada(Instancia instancia, PassoFarthestFirst passo) {
         this.instancia = instancia;
         this.V = instancia.getV();
         this.k = instancia.getK();
-        this.distancias = instancia.getDistancias();
+        this.distancias = instancia.getMatriz();
+        this.linha = new int[V];
+        this.passo = passo;
     }
 
     // --- Método Público Principal ---
@@ -51,103 +61,54 @@ public class SolucaoAproximada {
     public Resultado resolver() {
         System.out.println("Iniciando Solução Aproximada (Farthest-First)...");
 
-        long inicio = System.nanoTime();
+        // Vamos escolher o vértice 0 como primeiro centro padrão.
+        return resolver(0);
+    }
 
-        // Conjunto para armazenar os índices dos centros escolhidos.
-        // Usamos um Set para verificar rapidamente se um vértice já é centro.
-        Set<Integer> centrosSet = new HashSet<>();
+    /**
+     * Executa a heurística Farthest-First a partir de um primeiro centro
+     * dado (sem mensagens; usado pelos reinícios da BuscaLocal).
+     * 
+     * @param primeiroCentro Vértice escolhido como primeiro centro.
+     * @return Um objeto Resultado com o raio, os centros e o tempo.
+     */
+    public Resultado resolver(int primeiroCentro) {
+        long inicio = System.nanoTime();
 
         // Array para armazenar os centros finais (para o resultado)
         int[] centrosArray = new int[k];
-        int contagemCentros = 0;
-
-        // 1. Escolha o primeiro centro
-        // Vamos escolher o vértice 0 como padrão.
-        int primeiroCentro = 0;
-        centrosSet.add(primeiroCentro);
-        centrosArray[contagemCentros] = primeiroCentro;
-        contagemCentros++;
-
-        // Array para guardar a menor distância de cada vértice até um centro
-        long[] distMinimaParaCentro = new long[V];
-        Arrays.fill(distMinimaParaCentro, Long.MAX_VALUE);
-
-        // Atualiza a distância de todos os vértices para este primeiro centro
-        for (int v = 0; v < V; v++) {
-            distMinimaParaCentro[v] = distancias[v][primeiroCentro];
-        }
-
-        // 2. Escolha os k-1 centros restantes
-        while (contagemCentros < k) {
 
-            // Encontra o vértice "mais distante"
-            long maxDist = -1;
-            int proximoCentro = -1;
+        // Distância de cada vértice ao centro mais próximo; os centros ficam
+        // com -1, o que os exclui da busca pelo mais distante
+        int[] distMinimaParaCentro = new int[V];
+        Arrays.fill(distMinimaParaCentro, MatrizDistancias.INFINITO);
 
-            for (int v = 0; v < V; v++) {
-                // Procura apenas entre vértices que AINDA NÃO SÃO centros
-                if (!centrosSet.contains(v)) {
-
-                    // distMinimaParaCentro[v] contém a distância de 'v'
-                    // para o centro mais próximo dele (escolhido até agora).
-                    if (distMinimaParaCentro[v] > maxDist) {
-                        maxDist = distMinimaParaCentro[v];
-                        proximoCentro = v;
-                    }
-                }
-            }
-
-            // Adiciona o vértice encontrado como o novo centro
-            centrosSet.add(proximoCentro);
+        // 1. Escolha o primeiro centro
+        int proximoCentro = primeiroCentro;
+        int maisDistante = -1;
+        for (int contagemCentros = 0; contagemCentros < k; contagemCentros++) {
             centrosArray[contagemCentros] = proximoCentro;
-            contagemCentros++;
-
-            // 3. Atualiza as distâncias mínimas
-            // Agora que temos um novo centro, recalculamos a distMinimaParaCentro
-            // de cada vértice.
-            for (int v = 0; v < V; v++) {
-                long distParaNovoCentro = distancias[v][proximoCentro];
-                if (distParaNovoCentro < distMinimaParaCentro[v]) {
-                    distMinimaParaCentro[v] = distParaNovoCentro;
-                }
-            }
+            distMinimaParaCentro[proximoCentro] = -1;
+
+            // 2. Em uma só passada, atualiza as distâncias mínimas com a
+            // linha do novo centro e encontra o vértice "mais distante" (o
+            // de menor índice, em caso de empate), que é o próximo centro
+            distancias.copiarLinha(proximoCentro, linha);
+            maisDistante = passo.atualizar(distMinimaParaCentro, linha, V);
+            proximoCentro = maisDistante;
         }
 
-        // 4. Calcula o raio final da solução encontrada
-        // O raio é o valor de 'maxDist' encontrado no ÚLTIMO passo,
-        // mas para garantir, vamos recalcular o raio final.
-        // (Opcional, mas mais seguro)
-        long raioFinal = calcularRaio(centrosArray);
-
-        long fim = System.nanoTime();
-        double tempoMs = (fim - inicio) / 1_000_000.0;
+        // 3. O raio é a distância do mais distante depois do último centro
+        // (0 se todos os vértices forem centros)
+        long raioFinal = maisDistante < 0 ? 0 : distMinimaParaCentro[maisDistante];
 
         // Ordena o array de centros (opcional, apenas para exibição)
         Arrays.sort(centrosArray);
 
-        return new Resultado(raioFinal, centrosArray, tempoMs);
-    }
+        long fim = System.nanoTime();
+        double tempoMs = (fim - inicio) / 1_000_000.0;
 
-    /**
-     * Calcula o "raio" para um dado conjunto de centros.
-     * (Método auxiliar, idêntico ao da SolucaoExata)
-     */
-    private long calcularRaio(int[] centros) {
-        long raioMaximoDaSolucao = 0;
-
-        for (int v = 0; v < V; v++) {
-            long distanciaMinimaCentro = Long.MAX_VALUE;
-            for (int centro : centros) {
-                long dist = distancias[v][centro];
-                if (dist < distanciaMinimaCentro) {
-                    distanciaMinimaCentro = dist;
-                }
-            }
-            if (distanciaMinimaCentro > raioMaximoDaSolucao) {
-                raioMaximoDaSolucao = distanciaMinimaCentro;
-            }
-        }
-        return raioMaximoDaSolucao;
+        return new Resultado(raioFinal, centrosArray, tempoMs);
     }
 
-}
+}
\ No newline at end of file
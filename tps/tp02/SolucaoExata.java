@@ -1,23 +1,43 @@
 package tps.tp02;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Esta classe implementa a solução EXATA (força bruta)
+ * Esta classe implementa a solução EXATA (força bruta com poda)
  * para o problema dos k-centros.
- * * Ela funciona testando todas as combinações possíveis de k centros.
+ * * Ela percorre as combinações de k centros em ordem crescente de índices
+ * (branch-and-bound): cada ramo guarda, para cada vértice, a distância ao
+ * centro mais próximo entre os já escolhidos, e é cortado assim que algum
+ * vértice não pode mais ficar a menos do melhor raio conhecido.
+ * * Os primeiros níveis da árvore viram subtarefas fork/join, que dividem o
+ * melhor raio (incumbente) por um AtomicLong.
  */
 public class SolucaoExata {
 
+    // Níveis da árvore (centros escolhidos) divididos em subtarefas
+    private static final int PROFUNDIDADE_PARALELA = 2;
+
     // --- Variáveis da Classe ---
     private final Instancia instancia; // Nossos dados (V, k, distancias)
     private final int V;
     private final int k;
-    private final int[][] distancias;
+    private final MatrizDistancias distancias;
+
+    // sufixo[i * V + v] = menor distância de v a um vértice de índice >= i
+    // (a linha V é "infinito"): limite para os centros ainda por escolher
+    private int[] sufixo;
 
-    private long menorRaioGlobal = Long.MAX_VALUE; // O melhor raio encontrado
+    private final AtomicLong menorRaioGlobal = new AtomicLong(Long.MAX_VALUE); // O melhor raio encontrado
     private int[] melhoresCentros = new int[0]; // O conjunto de centros que gerou o menorRaioGlobal
 
+    private volatile boolean cancelado;
+
     /**
      * Classe interna para encapsular o resultado da execução.
      */
@@ -33,6 +53,24 @@ public class SolucaoExata {
         }
     }
 
+    /**
+     * Vetores da busca em profundidade: minimos[d][v] é a distância de v ao
+     * centro mais próximo entre os d primeiros da combinação. Cada folha
+     * paralela aloca o seu (estático, para não prender o solver às threads
+     * do pool depois de resolver()).
+     */
+    private static final class Espaco {
+        final int[][] minimos;
+        final int[] combinacao;
+        final int[] linha;
+
+        Espaco(int k, int V) {
+            minimos = new int[k + 1][V];
+            combinacao = new int[k];
+            linha = new int[V];
+        }
+    }
+
     // --- Construtor ---
 
     /**
@@ -44,115 +82,203 @@ public class SolucaoExata {
         this.instancia = instancia;
         this.V = instancia.getV();
         this.k = instancia.getK();
-        this.distancias = instancia.getDistancias();
+        this.distancias = instancia.getMatriz();
     }
 
     // --- Método Público Principal ---
 
     /**
-     * Executa o algoritmo de força bruta.
+     * Executa o branch-and-bound.
      * 
      * @return Um objeto Resultado com o raio, os centros e o tempo.
      */
     public Resultado resolver() {
-        System.out.println("Iniciando Solução Exata (Força Bruta)...");
+        System.out.println("Iniciando Solução Exata (Força Bruta com poda)...");
         System.out.println("Isso pode demorar bastante para V=" + V + ", k=" + k);
 
         // Para medir o tempo de execução
         long inicio = System.nanoTime();
 
-        // Prepara o array que guardará uma combinação
-        int[] combinacaoAtual = new int[k];
+        // O Farthest-First dá o primeiro incumbente: só interessam
+        // combinações com raio menor que o dele
+        SolucaoAproximada.Resultado inicial = new SolucaoAproximada(instancia).resolver();
+        menorRaioGlobal.set(inicial.raio);
+        melhoresCentros = Arrays.copyOf(inicial.centros, inicial.centros.length);
+        Arrays.sort(melhoresCentros);
 
-        // Inicia o processo recursivo de geração de combinações
-        // Começa do vértice 0, com 0 centros escolhidos
-        gerarCombinacoes(0, 0, combinacaoAtual);
+        if (k > 0 && k <= V) {
+            sufixo = calcularSufixo();
+
+            int[] semCentros = new int[V];
+            Arrays.fill(semCentros, MatrizDistancias.INFINITO);
+            // Com um só núcleo, a busca é toda sequencial
+            int profundidade = Runtime.getRuntime().availableProcessors() > 1 ? PROFUNDIDADE_PARALELA : 0;
+            ForkJoinPool.commonPool().invoke(new Tarefa(0, 0, semCentros, new int[0], profundidade));
+        }
 
         long fim = System.nanoTime();
         double tempoMs = (fim - inicio) / 1_000_000.0;
 
         // Retorna o melhor resultado encontrado
-        return new Resultado(menorRaioGlobal, melhoresCentros, tempoMs);
+        return new Resultado(menorRaioGlobal.get(), melhoresCentros, tempoMs);
+    }
+
+    /**
+     * Pede a interrupção de resolver() (de outra thread), que termina com
+     * CancellationException.
+     */
+    public void cancelar() {
+        cancelado = true;
     }
 
     // --- Lógica do Algoritmo ---
 
     /**
-     * Função recursiva para gerar todas as combinações de k centros.
-     * * @param inicio O índice do vértice a partir do qual tentaremos adicionar
-     * 
-     * @param contagem        Quantos centros já foram escolhidos
-     * @param combinacaoAtual O array com os centros escolhidos até agora
+     * Monta a tabela sufixo, da última linha da matriz para a primeira.
      */
-    private void gerarCombinacoes(int inicio, int contagem, int[] combinacaoAtual) {
-        // --- Caso Base da Recursão ---
-        // Se já escolhemos k centros, temos uma combinação completa.
-        if (contagem == k) {
-            // Agora, calculamos o "raio" desta combinação de centros
-            long raioDestaCombinacao = calcularRaio(combinacaoAtual);
-
-            // Se este raio for o menor que já vimos, salvamos ele
-            if (raioDestaCombinacao < menorRaioGlobal) {
-                menorRaioGlobal = raioDestaCombinacao;
-                // Copiamos o array, pois combinacaoAtual será modificado
-                melhoresCentros = Arrays.copyOf(combinacaoAtual, k);
+    private int[] calcularSufixo() {
+        int[] tabela = new int[(V + 1) * V];
+        Arrays.fill(tabela, V * V, (V + 1) * V, MatrizDistancias.INFINITO);
+        int[] linha = new int[V];
+        for (int i = V - 1; i >= 0; i--) {
+            distancias.copiarLinha(i, linha);
+            int base = i * V;
+            for (int v = 0; v < V; v++) {
+                tabela[base + v] = Math.min(linha[v], tabela[base + V + v]);
             }
-            return; // Encerra este ramo da recursão
         }
+        return tabela;
+    }
 
-        // --- Passo Recursivo ---
-        // Tenta adicionar cada vértice 'i' como o próximo centro
-        for (int i = inicio; i < V; i++) {
-            // O 'i' só pode ser escolhido se ainda houver "espaço"
-            // no grafo para completar os k centros.
-            // Esta verificação (i <= V - (k - contagem)) é uma otimização
-            // para "podar" ramos da busca que não levarão a lugar nenhum.
-            if (i <= V - (k - contagem)) {
-                combinacaoAtual[contagem] = i; // Escolhe o vértice 'i'
-
-                // Chama a recursão para escolher o próximo centro
-                // Começa a busca a partir de 'i + 1' para evitar duplicatas
-                // (ex: [1, 2] e [2, 1])
-                gerarCombinacoes(i + 1, contagem + 1, combinacaoAtual);
-            } else {
-                // Se i for muito grande, não há como completar k centros
-                break;
+    /**
+     * Subárvore das combinações que começam com os centros de prefixo. Até
+     * o nível limite, cada filho vira uma subtarefa; dali em diante, a busca
+     * segue sequencial em vetores próprios da tarefa.
+     */
+    private final class Tarefa extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int contagem;
+        private final int inicio;
+        private final int[] minimos;
+        private final int[] prefixo;
+        private final int limite;
+
+        Tarefa(int contagem, int inicio, int[] minimos, int[] prefixo, int limite) {
+            this.contagem = contagem;
+            this.inicio = inicio;
+            this.minimos = minimos;
+            this.prefixo = prefixo;
+            this.limite = limite;
+        }
+
+        @Override
+        protected void compute() {
+            if (contagem >= limite || contagem + 1 >= k) {
+                Espaco espaco = new Espaco(k, V);
+                System.arraycopy(minimos, 0, espaco.minimos[contagem], 0, V);
+                System.arraycopy(prefixo, 0, espaco.combinacao, 0, contagem);
+                buscar(espaco, contagem, inicio);
+                return;
+            }
+
+            List<Tarefa> filhos = new ArrayList<>();
+            int[] linha = new int[V];
+            for (int i = inicio; i <= V - (k - contagem); i++) {
+                int[] minimosFilho = new int[V];
+                distancias.copiarLinha(i, linha);
+                int raio = expandir(minimos, linha, minimosFilho, i, contagem + 1, menorRaioGlobal.get());
+                if (raio == PODADO) {
+                    continue;
+                }
+                if (raio == ESGOTADO) {
+                    break;
+                }
+                int[] prefixoFilho = Arrays.copyOf(prefixo, contagem + 1);
+                prefixoFilho[contagem] = i;
+                filhos.add(new Tarefa(contagem + 1, i + 1, minimosFilho, prefixoFilho, limite));
             }
+            invokeAll(filhos);
         }
     }
 
+    // Retornos de expandir() que cortam o filho
+    private static final int PODADO = -1; // só este filho
+    private static final int ESGOTADO = -2; // este e todos os irmãos seguintes
+
     /**
-     * Calcula o "raio" para um dado conjunto de centros.
-     * O raio é a maior distância de um vértice qualquer até o seu centro
-     * mais próximo.
-     * * @param centros O conjunto de k centros a ser avaliado.
-     * 
-     * @return O raio (custo) desta solução.
+     * Escolhe o centro i como o contagem-ésimo da combinação: minimosFilho
+     * recebe as distâncias de atual atualizadas com a linha de i.
+     *
+     * Um vértice v com minimosFilho[v] >= incumbente só pode melhorar com um
+     * centro de índice maior que i; se nem o mais próximo deles (sufixo)
+     * chega a menos do incumbente, o ramo é cortado. Se v já estava longe
+     * em atual, nenhum irmão seguinte (centro > i) o salva.
+     *
+     * @return o raio dos centros escolhidos até aqui, PODADO ou ESGOTADO.
      */
-    private long calcularRaio(int[] centros) {
-        long raioMaximoDaSolucao = 0;
-
-        // Itera por CADA vértice 'v' do grafo (de 0 a V-1)
+    private int expandir(int[] atual, int[] linha, int[] minimosFilho, int i, int contagem, long incumbente) {
+        // Na última escolha não há centros seguintes
+        int base = contagem == k ? V * V : (i + 1) * V;
+        int raio = 0;
         for (int v = 0; v < V; v++) {
+            int m = Math.min(atual[v], linha[v]);
+            minimosFilho[v] = m;
+            if (m >= incumbente && sufixo[base + v] >= incumbente) {
+                return atual[v] >= incumbente && sufixo[(i + 1) * V + v] >= incumbente ? ESGOTADO : PODADO;
+            }
+            if (m > raio) {
+                raio = m;
+            }
+        }
+        return raio;
+    }
 
-            // Encontra a distância de 'v' até o centro MAIS PRÓXIMO
-            long distanciaMinimaCentro = Long.MAX_VALUE;
+    /**
+     * Busca em profundidade a partir dos contagem centros já em espaco.
+     * 
+     * @param inicio   O índice do vértice a partir do qual tentaremos adicionar
+     * @param contagem Quantos centros já foram escolhidos
+     */
+    private void buscar(Espaco espaco, int contagem, int inicio) {
+        int[] atual = espaco.minimos[contagem];
+        int[] filho = espaco.minimos[contagem + 1];
 
-            for (int centro : centros) {
-                long dist = distancias[v][centro];
-                if (dist < distanciaMinimaCentro) {
-                    distanciaMinimaCentro = dist;
-                }
+        // O 'i' só pode ser escolhido se ainda houver "espaço" no grafo
+        // para completar os k centros
+        for (int i = inicio; i <= V - (k - contagem); i++) {
+            if (cancelado) {
+                throw new CancellationException("Solução exata cancelada");
+            }
+            distancias.copiarLinha(i, espaco.linha);
+            // O incumbente é relido a cada filho: outra thread pode tê-lo baixado
+            int raio = expandir(atual, espaco.linha, filho, i, contagem + 1, menorRaioGlobal.get());
+            if (raio == PODADO) {
+                continue;
+            }
+            if (raio == ESGOTADO) {
+                break;
             }
+            espaco.combinacao[contagem] = i;
 
-            // O raio da solução é determinado pelo vértice "pior caso",
-            // ou seja, o que está mais longe de seu centro mais próximo.
-            if (distanciaMinimaCentro > raioMaximoDaSolucao) {
-                raioMaximoDaSolucao = distanciaMinimaCentro;
+            if (contagem + 1 == k) {
+                // Combinação completa com raio menor que o incumbente
+                registrar(raio, espaco.combinacao);
+            } else {
+                buscar(espaco, contagem + 1, i + 1);
             }
         }
+    }
 
-        return raioMaximoDaSolucao;
+    /**
+     * Guarda a combinação se ela ainda for melhor que o incumbente (outra
+     * thread pode ter achado uma melhor nesse meio tempo).
+     */
+    private synchronized void registrar(long raio, int[] combinacao) {
+        if (raio < menorRaioGlobal.get()) {
+            melhoresCentros = Arrays.copyOf(combinacao, k);
+            menorRaioGlobal.set(raio);
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,461 @@
+package tps.tp02;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Solução EXATA do problema dos k-centros por busca binária no raio.
+ *
+ * O raio ótimo é uma das distâncias da matriz. Entre as distâncias
+ * distintas, a busca binária procura a menor r para a qual k "bolas" de raio
+ * r (os vértices a distância <= r de um centro) cobrem todos os vértices. A
+ * busca fica entre FF/2 e FF, em que FF é o raio do Farthest-First: como ele
+ * é uma 2-aproximação, o ótimo não é menor que FF/2, e FF é viável.
+ *
+ * Cada pergunta "k bolas de raio r cobrem o grafo?" é um problema de
+ * cobertura resolvido por branch-and-bound sobre conjuntos de bits (long[]):
+ * - ramifica no vértice descoberto com menos centros capazes de cobri-lo,
+ * tentando primeiro o centro que cobre mais vértices descobertos;
+ * - um centro que só cobre vértices descobertos também cobertos por outro
+ * (dominado) não é usado: na raiz e nos primeiros níveis da busca;
+ * - depois de tentar um centro para o vértice, os ramos seguintes o proíbem
+ * (as soluções com ele já foram exploradas);
+ * - um vértice que é coberto sempre que outro é (os centros que cobrem o
+ * outro também o cobrem) é retirado da lista a cobrir;
+ * - corta o ramo se algum vértice descoberto não tem mais centro permitido,
+ * ou se há mais vértices descobertos sem centro permitido em comum (por
+ * exemplo, a distância > 2r uns dos outros) do que centros restantes.
+ */
+public class SolucaoExataCobertura {
+
+    /**
+     * Até que profundidade a dominância entre centros é recalculada para os
+     * vértices ainda descobertos. Custa O(V^2) por nó: compensa perto da raiz,
+     * onde corta mais, e atrasa os nós profundos.
+     */
+    static final int PROFUNDIDADE_DOMINANCIA = 4;
+
+    private final Instancia instancia;
+    private final int V;
+    private final int k;
+    private final MatrizDistancias distancias;
+    private final int palavras; // longs por conjunto de V bits
+
+    // Estado da pergunta atual (raio fixo)
+    private long[][] bolas;      // bolas[c]: vértices a distância <= r de c
+    private long[][] descobertos; // por profundidade da busca
+    private long[][] permitidos;  // centros ainda permitidos, por profundidade
+    private long[] empacotamento; // rascunho do limite por empacotamento
+    private int[] ordemVertices;  // vértices por número de centros que os cobrem
+    private long[][] uteis;       // rascunho da dominância: descobertos que cada centro cobre
+    private int[] centrosUteis;
+    private int[] cobertosUteis;
+    private int[][] ordem;        // candidatos ordenados, por profundidade
+    private int[][] pontuacao;
+    private int[] escolhidos;
+    private long nosExplorados;
+    private volatile boolean cancelado;
+
+    public SolucaoExataCobertura(Instancia instancia) {
+        this.instancia = instancia;
+        this.V = instancia.getV();
+        this.k = instancia.getK();
+        this.distancias = instancia.getMatriz();
+        this.palavras = (V + 63) >>> 6;
+    }
+
+    /**
+     * Resolve o problema.
+     *
+     * @return o raio ótimo, k centros que o atingem e o tempo total.
+     */
+    public SolucaoExata.Resultado resolver() {
+        System.out.println("Iniciando Solução Exata (busca binária no raio + cobertura)...");
+        long inicio = System.nanoTime();
+        alocar();
+        nosExplorados = 0;
+
+        // Limite superior (viável) e inferior pelo Farthest-First
+        SolucaoAproximada.Resultado aproximada = new SolucaoAproximada(instancia).resolver();
+        long limiteSuperior = aproximada.raio;
+        int[] melhoresCentros = aproximada.centros;
+        if (limiteSuperior == 0) {
+            // Todo vértice é centro (k >= V): não há raio menor a procurar, e
+            // o 0 nem está entre as distâncias distintas (fora da diagonal)
+            double tempoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+            return new SolucaoExata.Resultado(0, melhoresCentros, tempoMs);
+        }
+
+        int[] raios = distanciasDistintas();
+        int baixo = primeiroMaiorOuIgual(raios, (limiteSuperior + 1) / 2);
+        int alto = primeiroMaiorOuIgual(raios, limiteSuperior); // viável
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (cobre(raios[meio])) {
+                alto = meio;
+                melhoresCentros = centrosEscolhidos();
+            } else {
+                baixo = meio + 1;
+            }
+        }
+        long raio = alto < raios.length ? raios[alto] : limiteSuperior;
+
+        double tempoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        return new SolucaoExata.Resultado(raio, melhoresCentros, tempoMs);
+    }
+
+    /**
+     * Nós da busca de cobertura visitados na última chamada de resolver().
+     */
+    public long getNosExplorados() {
+        return nosExplorados;
+    }
+
+    /**
+     * Pede a interrupção de resolver() (de outra thread), que termina com
+     * CancellationException.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    private void alocar() {
+        bolas = new long[V][palavras];
+        descobertos = new long[k + 1][palavras];
+        permitidos = new long[k + 1][palavras];
+        empacotamento = new long[palavras];
+        ordemVertices = new int[V];
+        uteis = new long[V][palavras];
+        centrosUteis = new int[V];
+        cobertosUteis = new int[V];
+        ordem = new int[k][V];
+        pontuacao = new int[k][V];
+        escolhidos = new int[k];
+    }
+
+    /** Distâncias distintas da matriz (i > j), em ordem crescente. */
+    private int[] distanciasDistintas() {
+        int[] linha = new int[V];
+        int[] todas = new int[(int) Math.min(Integer.MAX_VALUE - 8, (long) V * (V - 1) / 2)];
+        int n = 0;
+        for (int i = 1; i < V; i++) {
+            distancias.copiarLinha(i, linha);
+            System.arraycopy(linha, 0, todas, n, i);
+            n += i;
+        }
+        Arrays.sort(todas, 0, n);
+        int distintas = 0;
+        for (int p = 0; p < n; p++) {
+            if (distintas == 0 || todas[p] != todas[distintas - 1]) {
+                todas[distintas++] = todas[p];
+            }
+        }
+        return Arrays.copyOf(todas, distintas);
+    }
+
+    private static int primeiroMaiorOuIgual(int[] valores, long alvo) {
+        int baixo = 0;
+        int alto = valores.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (valores[meio] < alvo) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /** Os centros da última cobertura, completados até k e ordenados. */
+    private int[] centrosEscolhidos() {
+        int[] centros = new int[k];
+        int n = 0;
+        long[] usado = new long[palavras];
+        for (int c : escolhidos) {
+            if (c >= 0) {
+                centros[n++] = c;
+                usado[c >>> 6] |= 1L << c;
+            }
+        }
+        // Centros a mais não pioram o raio
+        for (int v = 0; v < V && n < k; v++) {
+            if ((usado[v >>> 6] & (1L << v)) == 0) {
+                centros[n++] = v;
+            }
+        }
+        Arrays.sort(centros);
+        return centros;
+    }
+
+    // --- Pergunta de cobertura ---
+
+    /**
+     * Verifica se k bolas de raio r cobrem todos os vértices; se sim, os
+     * centros ficam em escolhidos (-1 nas posições não usadas).
+     */
+    boolean cobre(long r) {
+        int[] linha = new int[V];
+        for (long[] bola : bolas) {
+            Arrays.fill(bola, 0);
+        }
+        for (int c = 0; c < V; c++) {
+            distancias.copiarLinha(c, linha);
+            for (int v = 0; v < V; v++) {
+                if (linha[v] <= r) {
+                    bolas[c][v >>> 6] |= 1L << v;
+                }
+            }
+        }
+
+        // Centros não dominados: c sai se a bola de outro centro contém a
+        // sua (em caso de bolas iguais, fica o de menor índice)
+        long[] candidatos = permitidos[0];
+        Arrays.fill(candidatos, 0);
+        int[] tamanho = new int[V];
+        for (int c = 0; c < V; c++) {
+            tamanho[c] = contar(bolas[c]);
+        }
+        for (int c = 0; c < V; c++) {
+            boolean dominado = false;
+            for (int outro = 0; outro < V && !dominado; outro++) {
+                if (outro != c && (tamanho[outro] > tamanho[c] || (tamanho[outro] == tamanho[c] && outro < c))
+                        && contido(bolas[c], bolas[outro])) {
+                    dominado = true;
+                }
+            }
+            if (!dominado) {
+                candidatos[c >>> 6] |= 1L << c;
+            }
+        }
+
+        // Vértices a cobrir: v sai se os centros que cobrem outro vértice u
+        // também cobrem v (em caso de conjuntos iguais, fica o de menor
+        // índice). Como a bola é simétrica, os que cobrem u são bolas[u].
+        long[][] cobertores = new long[V][palavras];
+        for (int u = 0; u < V; u++) {
+            for (int w = 0; w < palavras; w++) {
+                cobertores[u][w] = bolas[u][w] & candidatos[w];
+            }
+            tamanho[u] = contar(cobertores[u]);
+        }
+        Arrays.fill(descobertos[0], 0);
+        for (int v = 0; v < V; v++) {
+            boolean redundante = false;
+            for (int u = 0; u < V && !redundante; u++) {
+                if (u != v && (tamanho[u] < tamanho[v] || (tamanho[u] == tamanho[v] && u < v))
+                        && contido(cobertores[u], cobertores[v])) {
+                    redundante = true;
+                }
+            }
+            if (!redundante) {
+                descobertos[0][v >>> 6] |= 1L << v;
+            }
+        }
+
+        // Ordem do limite por empacotamento: vértices mais difíceis primeiro
+        Integer[] porTamanho = new Integer[V];
+        for (int v = 0; v < V; v++) {
+            porTamanho[v] = v;
+        }
+        Arrays.sort(porTamanho, (a, b) -> Integer.compare(tamanho[a], tamanho[b]));
+        for (int v = 0; v < V; v++) {
+            ordemVertices[v] = porTamanho[v];
+        }
+
+        Arrays.fill(escolhidos, -1);
+        return buscar(0);
+    }
+
+    private boolean buscar(int profundidade) {
+        if (cancelado) {
+            throw new CancellationException("Solução exata (cobertura) cancelada");
+        }
+        nosExplorados++;
+        long[] descoberto = descobertos[profundidade];
+        if (vazio(descoberto)) {
+            return true;
+        }
+        int restantes = k - profundidade;
+        if (restantes == 0) {
+            return false;
+        }
+        if (profundidade < PROFUNDIDADE_DOMINANCIA) {
+            removerDominados(descoberto, permitidos[profundidade]);
+        }
+        if (empacotamento(descoberto, permitidos[profundidade]) > restantes) {
+            return false;
+        }
+
+        // Vértice descoberto com menos centros permitidos
+        long[] permitido = permitidos[profundidade];
+        int escolhido = -1;
+        int menor = Integer.MAX_VALUE;
+        for (int w = 0; w < palavras && menor > 1; w++) {
+            long bits = descoberto[w];
+            while (bits != 0) {
+                int u = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int cobertores = contarIntersecao(bolas[u], permitido);
+                if (cobertores < menor) {
+                    menor = cobertores;
+                    escolhido = u;
+                    if (menor <= 1) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (menor == 0) {
+            return false;
+        }
+
+        // Candidatos (centros que cobrem o vértice), dos que cobrem mais
+        // vértices descobertos para os que cobrem menos
+        int[] candidatos = ordem[profundidade];
+        int[] cobertos = pontuacao[profundidade];
+        int n = 0;
+        long[] bolaEscolhido = bolas[escolhido];
+        for (int w = 0; w < palavras; w++) {
+            long bits = bolaEscolhido[w] & permitido[w];
+            while (bits != 0) {
+                int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int novos = contarIntersecao(bolas[c], descoberto);
+                int p = n++;
+                while (p > 0 && cobertos[p - 1] < novos) {
+                    candidatos[p] = candidatos[p - 1];
+                    cobertos[p] = cobertos[p - 1];
+                    p--;
+                }
+                candidatos[p] = c;
+                cobertos[p] = novos;
+            }
+        }
+
+        long[] proximoDescoberto = descobertos[profundidade + 1];
+        long[] proximoPermitido = permitidos[profundidade + 1];
+        for (int i = 0; i < n; i++) {
+            int c = candidatos[i];
+            long[] bola = bolas[c];
+            for (int w = 0; w < palavras; w++) {
+                proximoDescoberto[w] = descoberto[w] & ~bola[w];
+            }
+            // O filho reduz os permitidos ao seu conjunto descoberto: recomeça
+            // dos permitidos deste nó, sem os centros já usados ou tentados
+            System.arraycopy(permitido, 0, proximoPermitido, 0, palavras);
+            for (int j = 0; j <= i; j++) {
+                proximoPermitido[candidatos[j] >>> 6] &= ~(1L << candidatos[j]);
+            }
+            escolhidos[profundidade] = c;
+            if (buscar(profundidade + 1)) {
+                return true;
+            }
+        }
+        escolhidos[profundidade] = -1;
+        return false;
+    }
+
+    /**
+     * Retira dos permitidos os centros que não cobrem nenhum vértice
+     * descoberto e os dominados: aqueles cujos descobertos cobertos estão
+     * todos na bola de outro centro (em caso de empate, fica o de menor
+     * índice).
+     */
+    private void removerDominados(long[] descoberto, long[] permitido) {
+        int n = 0;
+        for (int w = 0; w < palavras; w++) {
+            long bits = permitido[w];
+            while (bits != 0) {
+                int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                long[] util = uteis[n];
+                long[] bola = bolas[c];
+                int total = 0;
+                for (int x = 0; x < palavras; x++) {
+                    util[x] = bola[x] & descoberto[x];
+                    total += Long.bitCount(util[x]);
+                }
+                if (total == 0) {
+                    permitido[w] &= ~(1L << c);
+                } else {
+                    centrosUteis[n] = c;
+                    cobertosUteis[n++] = total;
+                }
+            }
+        }
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                if (b != a && (cobertosUteis[b] > cobertosUteis[a]
+                        || (cobertosUteis[b] == cobertosUteis[a] && centrosUteis[b] < centrosUteis[a]))
+                        && contido(uteis[a], uteis[b])) {
+                    permitido[centrosUteis[a] >>> 6] &= ~(1L << centrosUteis[a]);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Limite inferior de centros para cobrir os descobertos: escolhe
+     * gulosamente vértices descobertos sem centro permitido em comum com os
+     * já escolhidos; cada um exige um centro diferente.
+     */
+    private int empacotamento(long[] descoberto, long[] permitido) {
+        Arrays.fill(empacotamento, 0); // centros que cobrem algum escolhido
+        int contagem = 0;
+        for (int u : ordemVertices) {
+            if ((descoberto[u >>> 6] & (1L << u)) == 0) {
+                continue;
+            }
+            long[] bola = bolas[u];
+            boolean disjunto = true;
+            for (int w = 0; w < palavras && disjunto; w++) {
+                disjunto = (bola[w] & permitido[w] & empacotamento[w]) == 0;
+            }
+            if (disjunto) {
+                contagem++;
+                for (int w = 0; w < palavras; w++) {
+                    empacotamento[w] |= bola[w] & permitido[w];
+                }
+            }
+        }
+        return contagem;
+    }
+
+    // --- Operações sobre conjuntos de bits ---
+
+    private boolean vazio(long[] conjunto) {
+        for (int w = 0; w < palavras; w++) {
+            if (conjunto[w] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int contar(long[] conjunto) {
+        int total = 0;
+        for (int w = 0; w < palavras; w++) {
+            total += Long.bitCount(conjunto[w]);
+        }
+        return total;
+    }
+
+    private int contarIntersecao(long[] a, long[] b) {
+        int total = 0;
+        for (int w = 0; w < palavras; w++) {
+            total += Long.bitCount(a[w] & b[w]);
+        }
+        return total;
+    }
+
+    private boolean contido(long[] a, long[] b) {
+        for (int w = 0; w < palavras; w++) {
+            if ((a[w] & ~b[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
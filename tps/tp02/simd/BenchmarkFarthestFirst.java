@@ -0,0 +1,123 @@
+package tps.tp02.simd;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import tps.tp02.Instancia;
+import tps.tp02.PassoFarthestFirst;
+import tps.tp02.SolucaoAproximada;
+
+/**
+ * Compara as implementações escalar e vetorial do passo do Farthest-First:
+ * - o passo isolado, sobre linhas aleatórias de vários tamanhos;
+ * - o Farthest-First completo nas instâncias passadas como argumento.
+ *
+ * Execução (sem --add-modules, só a escalar é medida):
+ * java --add-modules jdk.incubator.vector -cp CLASSES tps.tp02.simd.BenchmarkFarthestFirst [pmedN.txt ...]
+ */
+public class BenchmarkFarthestFirst {
+
+    private static final int[] TAMANHOS = { 100, 900, 10_000, 100_000, 1_000_000 };
+    private static final long TEMPO_POR_MEDIDA_NS = 500_000_000L;
+
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.US);
+        PassoFarthestFirst escalar = PassoFarthestFirst.escalar();
+        PassoFarthestFirst melhor = PassoFarthestFirst.melhorDisponivel();
+        System.out.println("Implementação disponível: " + melhor.nome());
+
+        System.out.println("\n--- Passo isolado (ns por vértice) ---");
+        System.out.printf("%10s %12s %12s %10s%n", "V", escalar.nome(), melhor.nome(), "aceleração");
+        Random aleatorio = new Random(1);
+        for (int n : TAMANHOS) {
+            int[] minimos = new int[n];
+            int[] linha = new int[n];
+            for (int v = 0; v < n; v++) {
+                minimos[v] = aleatorio.nextInt(1_000_000);
+                linha[v] = aleatorio.nextInt(1_000_000);
+            }
+            conferir(escalar, melhor, minimos, linha);
+            double tEscalar = medirPasso(escalar, minimos, linha);
+            double tMelhor = medirPasso(melhor, minimos, linha);
+            System.out.printf("%10d %12.3f %12.3f %9.2fx%n", n, tEscalar, tMelhor, tEscalar / tMelhor);
+        }
+
+        if (args.length > 0) {
+            // As soluções imprimem o andamento; durante as medidas, não
+            java.io.PrintStream saida = System.out;
+            System.out.println("\n--- Farthest-First completo (ms por execução) ---");
+            System.out.printf("%12s %6s %4s %12s %12s %10s%n", "instância", "V", "k", escalar.nome(), melhor.nome(),
+                    "aceleração");
+            for (String arquivo : args) {
+                Instancia instancia = new Instancia(arquivo);
+                SolucaoAproximada ffEscalar = new SolucaoAproximada(instancia, escalar);
+                SolucaoAproximada ffMelhor = new SolucaoAproximada(instancia, melhor);
+                SolucaoAproximada.Resultado a = ffEscalar.resolver(0);
+                SolucaoAproximada.Resultado b = ffMelhor.resolver(0);
+                if (a.raio != b.raio || !Arrays.equals(a.centros, b.centros)) {
+                    throw new IllegalStateException("Resultados diferentes em " + arquivo);
+                }
+                double tEscalar = medirFarthestFirst(ffEscalar);
+                double tMelhor = medirFarthestFirst(ffMelhor);
+                saida.printf("%12s %6d %4d %12.4f %12.4f %9.2fx%n", arquivo.replaceAll(".*[/\\\\]", ""),
+                        instancia.getV(), instancia.getK(), tEscalar, tMelhor, tEscalar / tMelhor);
+            }
+        }
+    }
+
+    /**
+     * As duas implementações devem dar o mesmo vetor e o mesmo índice,
+     * inclusive com empates e centros (-1).
+     */
+    private static void conferir(PassoFarthestFirst a, PassoFarthestFirst b, int[] minimos, int[] linha) {
+        int[] comEmpates = minimos.clone();
+        for (int v = 0; v < comEmpates.length; v += 3) {
+            comEmpates[v] = v % 2 == 0 ? -1 : 7;
+        }
+        for (int[] base : new int[][] { minimos, comEmpates }) {
+            int[] x = base.clone();
+            int[] y = base.clone();
+            if (a.atualizar(x, linha, x.length) != b.atualizar(y, linha, y.length) || !Arrays.equals(x, y)) {
+                throw new IllegalStateException("Implementações divergem com V=" + minimos.length);
+            }
+        }
+    }
+
+    /**
+     * Tempo médio por vértice, depois de aquecer o JIT. Repetir o passo com
+     * a mesma linha refaz o mesmo trabalho (o mínimo não muda mais).
+     */
+    private static double medirPasso(PassoFarthestFirst passo, int[] minimos, int[] linha) {
+        int[] trabalho = minimos.clone();
+        int soma = 0;
+        long inicio = System.nanoTime();
+        while (System.nanoTime() - inicio < TEMPO_POR_MEDIDA_NS) {
+            soma += passo.atualizar(trabalho, linha, trabalho.length);
+        }
+        long repeticoes = 0;
+        inicio = System.nanoTime();
+        while (System.nanoTime() - inicio < TEMPO_POR_MEDIDA_NS) {
+            soma += passo.atualizar(trabalho, linha, trabalho.length);
+            repeticoes++;
+        }
+        long total = System.nanoTime() - inicio;
+        if (soma == 42) {
+            System.out.print(""); // Usa o resultado para o JIT não eliminar o laço
+        }
+        return (double) total / repeticoes / minimos.length;
+    }
+
+    private static double medirFarthestFirst(SolucaoAproximada farthestFirst) {
+        for (int aquecimento = 0; aquecimento < 200; aquecimento++) {
+            farthestFirst.resolver(aquecimento % 7);
+        }
+        long repeticoes = 0;
+        long inicio = System.nanoTime();
+        while (System.nanoTime() - inicio < TEMPO_POR_MEDIDA_NS) {
+            farthestFirst.resolver(0);
+            repeticoes++;
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / repeticoes;
+    }
+}
\ No newline at end of file
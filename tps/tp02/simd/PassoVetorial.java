@@ -0,0 +1,66 @@
+package tps.tp02.simd;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import tps.tp02.PassoFarthestFirst;
+
+/**
+ * Passo do Farthest-First com a Vector API (jdk.incubator.vector): mínimo
+ * elemento a elemento e argmax na mesma passada.
+ *
+ * Cada lane guarda o maior valor que viu e o índice da primeira ocorrência;
+ * no fim, o resultado é o menor índice entre as lanes com o maior valor,
+ * igual ao da versão escalar. O resto (n que não fecha um vetor) é escalar.
+ *
+ * Compilação e execução precisam de --add-modules jdk.incubator.vector;
+ * sem o módulo, PassoFarthestFirst.melhorDisponivel() usa a versão escalar.
+ */
+public class PassoVetorial implements PassoFarthestFirst {
+
+    private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED;
+
+    // Índices 0, 1, ..., L-1 das lanes
+    private static final IntVector DESLOCAMENTOS = IntVector.zero(ESPECIE).addIndex(1);
+
+    @Override
+    public int atualizar(int[] minimos, int[] linha, int n) {
+        int limite = ESPECIE.loopBound(n);
+        IntVector maiores = IntVector.broadcast(ESPECIE, -1);
+        IntVector indices = IntVector.broadcast(ESPECIE, -1);
+
+        int v = 0;
+        for (; v < limite; v += ESPECIE.length()) {
+            IntVector m = IntVector.fromArray(ESPECIE, minimos, v).min(IntVector.fromArray(ESPECIE, linha, v));
+            m.intoArray(minimos, v);
+            VectorMask<Integer> maior = m.compare(VectorOperators.GT, maiores);
+            maiores = maiores.blend(m, maior);
+            indices = indices.blend(DESLOCAMENTOS.add(v), maior);
+        }
+
+        // Redução entre as lanes: maior valor e, com ele, o menor índice
+        int maior = maiores.reduceLanes(VectorOperators.MAX);
+        int maisDistante = -1;
+        if (maior >= 0) {
+            VectorMask<Integer> comMaior = maiores.compare(VectorOperators.EQ, maior);
+            maisDistante = indices.reduceLanes(VectorOperators.MIN, comMaior);
+        }
+
+        for (; v < n; v++) {
+            int m = Math.min(minimos[v], linha[v]);
+            minimos[v] = m;
+            if (m > maior) {
+                maior = m;
+                maisDistante = v;
+            }
+        }
+        return maisDistante;
+    }
+
+    @Override
+    public String nome() {
+        return "vetorial (" + ESPECIE.length() + " x int)";
+    }
+}
\ No newline at end of file